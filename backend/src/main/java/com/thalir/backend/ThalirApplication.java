@@ -2,8 +2,16 @@ package com.thalir.backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.thalir.backend.config.NativeRuntimeHints;
 
 @SpringBootApplication
+@EnableScheduling
+@EnableAsync
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class ThalirApplication {
 
 	public static void main(String[] args) {
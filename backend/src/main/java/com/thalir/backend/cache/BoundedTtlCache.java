@@ -0,0 +1,159 @@
+package com.thalir.backend.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiPredicate;
+
+/**
+ * In-memory map whose entries expire a fixed time after they are written. Once it
+ * holds maxSize entries, writing another evicts the least recently used one. An
+ * optional stale window keeps expired entries readable through getStale. Guarded
+ * by a ReentrantLock rather than synchronized so virtual threads do not pin their
+ * carrier while waiting for it.
+ */
+public class BoundedTtlCache<K, V> {
+    private final int maxSize;
+    private final long ttlNanos;
+    private final long staleNanos;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Map<K, Entry<V>> entries;
+
+    public BoundedTtlCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, Duration.ZERO);
+    }
+
+    public BoundedTtlCache(int maxSize, Duration ttl, Duration staleTtl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.staleNanos = staleTtl.toNanos();
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedTtlCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public V get(K key) {
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            long now = System.nanoTime();
+            if (entry != null && entry.expiresAt - now > 0) {
+                hits.incrementAndGet();
+                return entry.value;
+            }
+            if (entry != null && entry.staleUntil - now <= 0) {
+                entries.remove(key);
+                evictions.incrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        misses.incrementAndGet();
+        return null;
+    }
+
+    // The value for the key, even if expired, as long as it is within the stale window
+    public V getStale(K key) {
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            return entry != null && entry.staleUntil - System.nanoTime() > 0 ? entry.value : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(K key, V value) {
+        long expiresAt = System.nanoTime() + ttlNanos;
+        Entry<V> entry = new Entry<>(value, expiresAt, expiresAt + staleNanos);
+        lock.lock();
+        try {
+            entries.put(key, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(K key) {
+        lock.lock();
+        try {
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void removeIf(BiPredicate<? super K, ? super V> filter) {
+        lock.lock();
+        try {
+            Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<K, Entry<V>> entry = iterator.next();
+                if (filter.test(entry.getKey(), entry.getValue().value)) {
+                    iterator.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+        private final long staleUntil;
+
+        private Entry(V value, long expiresAt, long staleUntil) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.staleUntil = staleUntil;
+        }
+    }
+}
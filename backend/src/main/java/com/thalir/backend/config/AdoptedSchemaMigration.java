@@ -0,0 +1,66 @@
+package com.thalir.backend.config;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.stereotype.Component;
+
+/**
+ * Flyway version 1.1: adds the columns that tables created by hibernate ddl-auto
+ * before Flyway do not have. Such databases are adopted at version 0, and V1's
+ * CREATE TABLE IF NOT EXISTS leaves their existing tables as they are. Each column
+ * is looked up in the JDBC metadata first, so the migration is a no-op on databases
+ * V1 created and runs unchanged on MySQL and H2. It must run before V2, whose seed
+ * rows already set users.token_version.
+ */
+@Component
+public class AdoptedSchemaMigration implements JavaMigration {
+    private static final String[][] COLUMNS = {
+            { "users", "token_version", "INTEGER NOT NULL DEFAULT 0" }
+    };
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("1.1");
+    }
+
+    @Override
+    public String getDescription() {
+        return "add columns missing from adopted tables";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            for (String[] column : COLUMNS) {
+                if (!hasColumn(connection, column[0], column[1])) {
+                    statement.execute("ALTER TABLE " + column[0] + " ADD COLUMN " + column[1] + " " + column[2]);
+                }
+            }
+        }
+    }
+
+    private static boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet columns = metaData.getColumns(connection.getCatalog(), connection.getSchema(), table, column)) {
+            return columns.next();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.thalir.backend.config;
+
+import org.springframework.aop.SpringProxy;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.data.projection.TargetAware;
+
+import com.thalir.backend.model.ERole;
+import com.thalir.backend.model.Role;
+import com.thalir.backend.model.User;
+import com.thalir.backend.payload.response.BulkImportResponse;
+import com.thalir.backend.payload.response.JwtResponse;
+import com.thalir.backend.payload.response.MessageResponse;
+import com.thalir.backend.payload.response.OrderPage;
+import com.thalir.backend.payload.response.OrderResponse;
+import com.thalir.backend.payload.response.ProductPage;
+import com.thalir.backend.payload.response.ProductResponse;
+import com.thalir.backend.payload.response.ProductSalesResponse;
+import com.thalir.backend.payload.response.SalesPoint;
+import com.thalir.backend.payload.response.SalesSummaryResponse;
+import com.thalir.backend.payload.response.TokenRefreshResponse;
+import com.thalir.backend.recommendation.BatchRecommendationRequest;
+import com.thalir.backend.recommendation.BatchRecommendationResponse;
+import com.thalir.backend.recommendation.RecommendationRequest;
+import com.thalir.backend.recommendation.RecommendationResponse;
+import com.thalir.backend.repository.ProductStock;
+import com.thalir.backend.repository.UserCredentials;
+import com.thalir.backend.repository.UserIdentity;
+import com.thalir.backend.repository.UserTokenVersion;
+
+/**
+ * Reflection and resource hints for what Spring AOT cannot see from the bean
+ * definitions when building the native image: jjwt creates its implementation
+ * classes by name and finds its JSON support through ServiceLoader, and the
+ * controllers return ResponseEntity&lt;?&gt;, so the bodies Jackson writes are unknown
+ * at build time. MlServiceClient likewise writes and reads the ML service DTOs
+ * through the ObjectMapper directly. Interface projections returned by the
+ * repositories are JDK proxies Spring Data creates at runtime.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+    private static final String[] JJWT_TYPES = {
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+            "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    };
+
+    // Interface projections, read through the opaque proxies ProxyProjectionFactory makes
+    static final Class<?>[] PROJECTIONS = {
+            UserCredentials.class, UserIdentity.class, UserTokenVersion.class, ProductStock.class
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (String type : JJWT_TYPES) {
+            hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                JwtResponse.class, MessageResponse.class, TokenRefreshResponse.class, BulkImportResponse.class,
+                ProductResponse.class, ProductPage.class, OrderResponse.class, OrderPage.class, SalesPoint.class,
+                SalesSummaryResponse.class, ProductSalesResponse.class, RecommendationRequest.class,
+                RecommendationResponse.class, BatchRecommendationRequest.class, BatchRecommendationResponse.class,
+                BatchRecommendationResponse.Item.class);
+
+        // Entities Hibernate instantiates and populates on signup, role changes and role lookups
+        hints.reflection().registerType(User.class, MemberCategory.values());
+        hints.reflection().registerType(Role.class, MemberCategory.values());
+        hints.reflection().registerType(ERole.class, MemberCategory.values());
+
+        for (Class<?> projection : PROJECTIONS) {
+            hints.reflection().registerType(projection, MemberCategory.INVOKE_PUBLIC_METHODS);
+            hints.proxies().registerJdkProxy(projection, TargetAware.class, SpringProxy.class, DecoratingProxy.class);
+        }
+    }
+}
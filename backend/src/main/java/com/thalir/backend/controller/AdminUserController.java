@@ -0,0 +1,56 @@
+package com.thalir.backend.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import jakarta.validation.Valid;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.thalir.backend.payload.request.RoleUpdateRequest;
+import com.thalir.backend.payload.response.BulkImportResponse;
+import com.thalir.backend.payload.response.MessageResponse;
+import com.thalir.backend.security.services.UserRoleService;
+import com.thalir.backend.services.UserImportService;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/admin/users")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminUserController {
+    @Autowired
+    UserImportService userImportService;
+
+    @Autowired
+    UserRoleService userRoleService;
+
+    // Accepts text/csv (username,email,password[,role1;role2]) or one SignupRequest JSON object per line
+    @PostMapping(value = "/import", consumes = { "text/csv", "application/x-ndjson", "application/jsonl" })
+    public ResponseEntity<BulkImportResponse> importUsers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        boolean csv = contentType.toLowerCase().contains("csv");
+        return ResponseEntity.ok(userImportService.importUsers(body, csv));
+    }
+
+    // Ends the user's current sessions; they sign in again to get tokens with the new roles
+    @PutMapping("/{id}/roles")
+    public ResponseEntity<?> updateRoles(@PathVariable Long id, @Valid @RequestBody RoleUpdateRequest request) {
+        if (!userRoleService.updateRoles(id, request.getRole())) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse("Error: User not found"));
+        }
+        return ResponseEntity.ok(new MessageResponse("Roles updated; the user must sign in again."));
+    }
+}
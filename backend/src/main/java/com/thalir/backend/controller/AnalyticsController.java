@@ -0,0 +1,109 @@
+package com.thalir.backend.controller;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.thalir.backend.payload.response.MessageResponse;
+import com.thalir.backend.security.services.UserDetailsImpl;
+import com.thalir.backend.services.SalesRollupService;
+
+/**
+ * Sales dashboards for providers, served from the rollup tables. Dates are inclusive
+ * and in the analytics time zone; without them the last 30 days are returned. Admins
+ * may pass providerId to see any provider.
+ */
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/analytics")
+@PreAuthorize("hasRole('PROVIDER') or hasRole('ADMIN')")
+public class AnalyticsController {
+    @Autowired
+    SalesRollupService rollupService;
+
+    @Value("${analytics.time-zone:UTC}")
+    private String timeZone;
+
+    @Value("${analytics.max-range-days:366}")
+    private long maxRangeDays;
+
+    @Value("${analytics.max-hourly-range-days:7}")
+    private long maxHourlyRangeDays;
+
+    @GetMapping("/summary")
+    public ResponseEntity<?> summary(@AuthenticationPrincipal UserDetailsImpl user,
+            @RequestParam(required = false) Long providerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return read(user, providerId, from, to, maxRangeDays, rollupService::summary);
+    }
+
+    @GetMapping("/sales/daily")
+    public ResponseEntity<?> dailySales(@AuthenticationPrincipal UserDetailsImpl user,
+            @RequestParam(required = false) Long providerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return read(user, providerId, from, to, maxRangeDays, rollupService::daily);
+    }
+
+    @GetMapping("/sales/hourly")
+    public ResponseEntity<?> hourlySales(@AuthenticationPrincipal UserDetailsImpl user,
+            @RequestParam(required = false) Long providerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (from == null) {
+            from = to != null ? to : today();
+        }
+        return read(user, providerId, from, to, maxHourlyRangeDays, rollupService::hourly);
+    }
+
+    @GetMapping("/products/top")
+    public ResponseEntity<?> topProducts(@AuthenticationPrincipal UserDetailsImpl user,
+            @RequestParam(required = false) Long providerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "5") int limit) {
+        int size = Math.max(1, Math.min(limit, 50));
+        return read(user, providerId, from, to, maxRangeDays,
+                (provider, start, end) -> rollupService.topProducts(provider, start, end, size));
+    }
+
+    private ResponseEntity<?> read(UserDetailsImpl user, Long providerId, LocalDate from, LocalDate to,
+            long maxDays, RangeQuery query) {
+        boolean admin = user.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        if (providerId != null && !admin && !providerId.equals(user.getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new MessageResponse("Error: You can only view your own sales"));
+        }
+
+        LocalDate end = to != null ? to : from != null ? from.plusDays(29) : today();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        if (start.isAfter(end) || ChronoUnit.DAYS.between(start, end) >= maxDays) {
+            return ResponseEntity.badRequest()
+                    .body(new MessageResponse("Error: Date range must be between 1 and " + maxDays + " days"));
+        }
+        return ResponseEntity.ok(query.apply(providerId != null ? providerId : user.getId(), start, end));
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(ZoneId.of(timeZone));
+    }
+
+    private interface RangeQuery {
+        Object apply(Long providerId, LocalDate from, LocalDate to);
+    }
+}
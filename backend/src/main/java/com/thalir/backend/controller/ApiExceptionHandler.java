@@ -0,0 +1,95 @@
+package com.thalir.backend.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.thalir.backend.payload.response.MessageResponse;
+import com.thalir.backend.recommendation.MlServiceException;
+import com.thalir.backend.recommendation.MlServiceUnavailableException;
+import com.thalir.backend.recommendation.RecommendationCapacityExceededException;
+import com.thalir.backend.security.services.HashingCapacityExceededException;
+import com.thalir.backend.security.services.TokenRefreshException;
+import com.thalir.backend.services.OrderCapacityExceededException;
+import com.thalir.backend.services.OrderRejectedException;
+import com.thalir.backend.weather.WeatherUnavailableException;
+
+@RestControllerAdvice
+public class ApiExceptionHandler {
+    private static final Logger logger = LoggerFactory.getLogger(ApiExceptionHandler.class);
+
+    @ExceptionHandler(HashingCapacityExceededException.class)
+    public ResponseEntity<MessageResponse> handleHashingCapacityExceeded(HashingCapacityExceededException e) {
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new MessageResponse("Error: Too many requests, please try again shortly"));
+    }
+
+    @ExceptionHandler(TokenRefreshException.class)
+    public ResponseEntity<MessageResponse> handleTokenRefresh(TokenRefreshException e) {
+        return ResponseEntity
+                .status(HttpStatus.FORBIDDEN)
+                .body(new MessageResponse("Error: " + e.getMessage()));
+    }
+
+    @ExceptionHandler(MlServiceException.class)
+    public ResponseEntity<MessageResponse> handleMlService(MlServiceException e) {
+        logger.warn("Recommendation failed: {}", e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.BAD_GATEWAY)
+                .body(new MessageResponse("Error: Crop recommendations are unavailable right now"));
+    }
+
+    @ExceptionHandler(RecommendationCapacityExceededException.class)
+    public ResponseEntity<MessageResponse> handleRecommendationCapacityExceeded(
+            RecommendationCapacityExceededException e) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new MessageResponse("Error: Crop recommendations are busy, please try again shortly"));
+    }
+
+    @ExceptionHandler(MlServiceUnavailableException.class)
+    public ResponseEntity<MessageResponse> handleMlServiceUnavailable(MlServiceUnavailableException e) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new MessageResponse("Error: Crop recommendations are unavailable right now"));
+    }
+
+    @ExceptionHandler(WeatherUnavailableException.class)
+    public ResponseEntity<MessageResponse> handleWeatherUnavailable(WeatherUnavailableException e) {
+        logger.warn("Weather lookup failed: {}", e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new MessageResponse("Error: Weather is unavailable right now"));
+    }
+
+    @ExceptionHandler(OrderRejectedException.class)
+    public ResponseEntity<MessageResponse> handleOrderRejected(OrderRejectedException e) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new MessageResponse("Error: " + e.getMessage()));
+    }
+
+    @ExceptionHandler(OrderCapacityExceededException.class)
+    public ResponseEntity<MessageResponse> handleOrderCapacityExceeded(OrderCapacityExceededException e) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new MessageResponse("Error: Too many orders right now, please try again shortly"));
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<MessageResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException e) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new MessageResponse("Error: It was changed by someone else at the same time, please retry"));
+    }
+}
@@ -1,6 +1,5 @@
 package com.thalir.backend.controller;
 
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -8,6 +7,8 @@ import java.util.stream.Collectors;
 import jakarta.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -17,20 +18,24 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.thalir.backend.model.ERole;
 import com.thalir.backend.model.Role;
 import com.thalir.backend.model.User;
 import com.thalir.backend.payload.request.LoginRequest;
 import com.thalir.backend.payload.request.SignupRequest;
+import com.thalir.backend.payload.request.TokenRefreshRequest;
 import com.thalir.backend.payload.response.JwtResponse;
 import com.thalir.backend.payload.response.MessageResponse;
-import com.thalir.backend.repository.RoleRepository;
+import com.thalir.backend.repository.UserIdentity;
 import com.thalir.backend.repository.UserRepository;
 import com.thalir.backend.security.jwt.JwtUtils;
+import com.thalir.backend.security.services.RefreshTokenService;
+import com.thalir.backend.security.services.RoleRegistry;
 import com.thalir.backend.security.services.UserDetailsImpl;
+import com.thalir.backend.security.services.UserDetailsServiceImpl;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -43,7 +48,7 @@ public class AuthController {
     UserRepository userRepository;
 
     @Autowired
-    RoleRepository roleRepository;
+    RoleRegistry roleRegistry;
 
     @Autowired
     PasswordEncoder encoder;
@@ -51,6 +56,12 @@ public class AuthController {
     @Autowired
     JwtUtils jwtUtils;
 
+    @Autowired
+    UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    RefreshTokenService refreshTokenService;
+
     @PostMapping("/signin")
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
 
@@ -58,78 +69,84 @@ public class AuthController {
                 new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = jwtUtils.generateJwtToken(authentication);
-
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        String jwt = jwtUtils.generateJwtToken(userDetails);
+        String refreshToken = jwtUtils.generateRefreshToken(userDetails);
+
         List<String> roles = userDetails.getAuthorities().stream()
                 .map(item -> item.getAuthority())
                 .collect(Collectors.toList());
 
         return ResponseEntity.ok(new JwtResponse(jwt,
+                refreshToken,
                 userDetails.getId(),
                 userDetails.getUsername(),
                 userDetails.getEmail(),
                 roles));
     }
 
-    @PostMapping("/signup")
-    public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
-        if (userRepository.existsByUsername(signUpRequest.getUsername())) {
-            return ResponseEntity
-                    .badRequest()
-                    .body(new MessageResponse("Error: Username is already taken!"));
-        }
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(@Valid @RequestBody TokenRefreshRequest request) {
+        return ResponseEntity.ok(refreshTokenService.refresh(request.getRefreshToken()));
+    }
 
-        if (userRepository.existsByEmail(signUpRequest.getEmail())) {
-            return ResponseEntity
-                    .badRequest()
-                    .body(new MessageResponse("Error: Email is already in use!"));
-        }
+    @PostMapping("/signout")
+    public ResponseEntity<?> signOut(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) TokenRefreshRequest request) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7)
+                : null;
+        refreshTokenService.signOut(accessToken, request != null ? request.getRefreshToken() : null);
+        SecurityContextHolder.clearContext();
 
+        return ResponseEntity.ok(new MessageResponse("Signed out successfully!"));
+    }
+
+    @PostMapping("/signup")
+    public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
         // Create new user's account
         User user = new User(signUpRequest.getUsername(),
                 signUpRequest.getEmail(),
                 encoder.encode(signUpRequest.getPassword()));
 
-        Set<String> strRoles = signUpRequest.getRole();
-        Set<Role> roles = new HashSet<>();
-
-        if (strRoles == null) {
-            Role farmerRole = roleRepository.findByName(ERole.ROLE_FARMER)
-                    .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-            roles.add(farmerRole);
-        } else {
-            strRoles.forEach(role -> {
-                switch (role) {
-                    case "admin":
-                        Role adminRole = roleRepository.findByName(ERole.ROLE_ADMIN)
-                                .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-                        roles.add(adminRole);
-
-                        break;
-                    case "provider":
-                        Role modRole = roleRepository.findByName(ERole.ROLE_PROVIDER)
-                                .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-                        roles.add(modRole);
-
-                        break;
-                    case "consumer":
-                        Role consRole = roleRepository.findByName(ERole.ROLE_CONSUMER)
-                                .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-                        roles.add(consRole);
-
-                        break;
-                    default:
-                        Role farmerRole = roleRepository.findByName(ERole.ROLE_FARMER)
-                                .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-                        roles.add(farmerRole);
-                }
-            });
-        }
-
+        Set<Role> roles = roleRegistry.resolve(signUpRequest.getRole());
         user.setRoles(roles);
-        userRepository.save(user);
+
+        // Insert first and let the unique constraints on username and email reject
+        // duplicates; this also holds for concurrent signups with the same name
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity
+                    .badRequest()
+                    .body(new MessageResponse(duplicateSignupMessage(signUpRequest, e)));
+        }
+        userDetailsService.evict(user.getUsername());
 
         return ResponseEntity.ok(new MessageResponse("User registered successfully!"));
     }
+
+    private String duplicateSignupMessage(SignupRequest signUpRequest, DataIntegrityViolationException e) {
+        String cause = String.valueOf(e.getMostSpecificCause().getMessage());
+        boolean usernameTaken = cause.contains(User.UNIQUE_USERNAME);
+        boolean emailTaken = cause.contains(User.UNIQUE_EMAIL);
+
+        // Databases created before the constraints were named report generated key
+        // names, so look up which of the two values is taken
+        if (!usernameTaken && !emailTaken) {
+            for (UserIdentity identity : userRepository.findByUsernameOrEmail(signUpRequest.getUsername(),
+                    signUpRequest.getEmail())) {
+                usernameTaken |= identity.getUsername().equalsIgnoreCase(signUpRequest.getUsername());
+                emailTaken |= identity.getEmail().equalsIgnoreCase(signUpRequest.getEmail());
+            }
+        }
+
+        if (usernameTaken) {
+            return "Error: Username is already taken!";
+        }
+        if (emailTaken) {
+            return "Error: Email is already in use!";
+        }
+        return "Error: Username or email is already in use!";
+    }
 }
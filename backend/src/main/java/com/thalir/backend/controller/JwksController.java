@@ -0,0 +1,28 @@
+package com.thalir.backend.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.thalir.backend.security.jwt.JwtKeyManager;
+
+// Public keys for offline token verification; empty while tokens are signed with HS256
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+public class JwksController {
+    @Autowired
+    JwtKeyManager keyManager;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(JwtKeyManager.JWKS_MAX_AGE).cachePublic())
+                .body(Map.of("keys", keyManager.publicJwks()));
+    }
+}
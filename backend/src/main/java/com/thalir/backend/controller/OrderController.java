@@ -0,0 +1,129 @@
+package com.thalir.backend.controller;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import jakarta.validation.Valid;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.thalir.backend.model.EOrderStatus;
+import com.thalir.backend.payload.request.OrderRequest;
+import com.thalir.backend.payload.request.OrderStatusRequest;
+import com.thalir.backend.payload.response.MessageResponse;
+import com.thalir.backend.payload.response.OrderResponse;
+import com.thalir.backend.security.services.UserDetailsImpl;
+import com.thalir.backend.services.OrderService;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/orders")
+public class OrderController {
+    @Autowired
+    OrderService orderService;
+
+    // Clients send a fresh Idempotency-Key per order and reuse it when retrying the same order
+    @PostMapping
+    public CompletableFuture<ResponseEntity<?>> placeOrder(@AuthenticationPrincipal UserDetailsImpl user,
+            @RequestHeader("Idempotency-Key") String idempotencyKey,
+            @Valid @RequestBody OrderRequest request) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > 64) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(new MessageResponse("Error: Idempotency-Key must be 1 to 64 characters")));
+        }
+        return orderService.place(user.getId(), idempotencyKey, request)
+                .<ResponseEntity<?>>thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping
+    public ResponseEntity<?> listOrders(@AuthenticationPrincipal UserDetailsImpl user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(orderService.listForCustomer(user.getId(), cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getOrder(@AuthenticationPrincipal UserDetailsImpl user, @PathVariable Long id) {
+        Optional<OrderResponse> order = orderService.get(id);
+        if (order.isEmpty() || !canView(user, order.get())) {
+            return orderNotFound();
+        }
+        return ResponseEntity.ok(visibleTo(user, order.get()));
+    }
+
+    // Admins and sole providers move orders along; customers may only cancel their own pending orders
+    @PutMapping("/{id}/status")
+    public ResponseEntity<?> updateStatus(@AuthenticationPrincipal UserDetailsImpl user, @PathVariable Long id,
+            @Valid @RequestBody OrderStatusRequest request) {
+        Optional<OrderResponse> order = orderService.get(id);
+        if (order.isEmpty() || !canView(user, order.get())) {
+            return orderNotFound();
+        }
+        boolean fulfils = isAdmin(user) || suppliesEveryLine(user, order.get());
+        boolean cancelsOwn = request.getStatus() == EOrderStatus.CANCELLED
+                && order.get().getStatus() == EOrderStatus.PENDING
+                && user.getId().equals(order.get().getCustomerId());
+        if (!fulfils && !cancelsOwn) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new MessageResponse("Error: You cannot change this order's status"));
+        }
+
+        try {
+            Optional<OrderResponse> updated = orderService.updateStatus(id, request.getStatus());
+            if (updated.isEmpty()) {
+                return orderNotFound();
+            }
+            return ResponseEntity.ok(visibleTo(user, updated.get()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+
+    private static boolean canView(UserDetailsImpl user, OrderResponse order) {
+        return user.getId().equals(order.getCustomerId()) || isAdmin(user) || suppliesOrder(user, order);
+    }
+
+    private static boolean suppliesOrder(UserDetailsImpl user, OrderResponse order) {
+        return order.getItems().stream().anyMatch(item -> user.getId().equals(item.getProviderId()));
+    }
+
+    // One provider of a multi-provider order must not ship or cancel the other providers' lines
+    private static boolean suppliesEveryLine(UserDetailsImpl user, OrderResponse order) {
+        return !order.getItems().isEmpty()
+                && order.getItems().stream().allMatch(item -> user.getId().equals(item.getProviderId()));
+    }
+
+    // Providers see only their own lines of an order; its customer and admins see all of them
+    private static OrderResponse visibleTo(UserDetailsImpl user, OrderResponse order) {
+        if (isAdmin(user) || user.getId().equals(order.getCustomerId())) {
+            return order;
+        }
+        return order.forProvider(user.getId());
+    }
+
+    private static boolean isAdmin(UserDetailsImpl user) {
+        return user.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+
+    private static ResponseEntity<?> orderNotFound() {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse("Error: Order not found"));
+    }
+}
@@ -0,0 +1,140 @@
+package com.thalir.backend.controller;
+
+import java.util.Optional;
+
+import jakarta.validation.Valid;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.thalir.backend.payload.request.ProductRequest;
+import com.thalir.backend.payload.response.MessageResponse;
+import com.thalir.backend.payload.response.ProductResponse;
+import com.thalir.backend.security.services.UserDetailsImpl;
+import com.thalir.backend.services.ProductService;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/products")
+public class ProductController {
+    @Autowired
+    ProductService productService;
+
+    @GetMapping
+    public ResponseEntity<?> listProducts(
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = ProductService.SORT_NEWEST) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(productService.list(category, sort, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/mine")
+    @PreAuthorize("hasRole('PROVIDER')")
+    public ResponseEntity<?> listOwnProducts(
+            @AuthenticationPrincipal UserDetailsImpl user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(productService.listByProvider(user.getId(), cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getProduct(@AuthenticationPrincipal UserDetailsImpl user, @PathVariable Long id) {
+        Optional<ProductResponse> product = productService.get(id, user.getId(), isAdmin(user));
+        if (product.isEmpty()) {
+            return productNotFound();
+        }
+        return ResponseEntity.ok(product.get());
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('PROVIDER')")
+    public ResponseEntity<?> createProduct(@AuthenticationPrincipal UserDetailsImpl user,
+            @Valid @RequestBody ProductRequest request) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(productService.create(user.getId(), request));
+        } catch (DataIntegrityViolationException e) {
+            return duplicateSku();
+        }
+    }
+
+    @PutMapping("/{id}")
+    @PreAuthorize("hasRole('PROVIDER') or hasRole('ADMIN')")
+    public ResponseEntity<?> updateProduct(@AuthenticationPrincipal UserDetailsImpl user, @PathVariable Long id,
+            @Valid @RequestBody ProductRequest request) {
+        ResponseEntity<?> denied = checkOwner(user, id);
+        if (denied != null) {
+            return denied;
+        }
+        try {
+            Optional<ProductResponse> updated = productService.update(id, request);
+            if (updated.isEmpty()) {
+                return productNotFound();
+            }
+            return ResponseEntity.ok(updated.get());
+        } catch (DataIntegrityViolationException e) {
+            return duplicateSku();
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('PROVIDER') or hasRole('ADMIN')")
+    public ResponseEntity<?> deleteProduct(@AuthenticationPrincipal UserDetailsImpl user, @PathVariable Long id) {
+        ResponseEntity<?> denied = checkOwner(user, id);
+        if (denied != null) {
+            return denied;
+        }
+        if (!productService.delete(id)) {
+            return productNotFound();
+        }
+        return ResponseEntity.ok(new MessageResponse("Product deleted successfully!"));
+    }
+
+    // Providers may only change their own products; admins may change any
+    private ResponseEntity<?> checkOwner(UserDetailsImpl user, Long id) {
+        Optional<Long> providerId = productService.findProviderId(id);
+        if (providerId.isEmpty()) {
+            return productNotFound();
+        }
+        if (!isAdmin(user) && !providerId.get().equals(user.getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new MessageResponse("Error: You can only change your own products"));
+        }
+        return null;
+    }
+
+    private static boolean isAdmin(UserDetailsImpl user) {
+        return user.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+
+    private static ResponseEntity<?> productNotFound() {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse("Error: Product not found"));
+    }
+
+    private static ResponseEntity<?> duplicateSku() {
+        return ResponseEntity.badRequest().body(new MessageResponse("Error: SKU is already in use!"));
+    }
+}
@@ -0,0 +1,22 @@
+package com.thalir.backend.model;
+
+public enum EOrderStatus {
+    PENDING,
+    CONFIRMED,
+    SHIPPED,
+    DELIVERED,
+    CANCELLED;
+
+    public boolean canMoveTo(EOrderStatus next) {
+        switch (this) {
+            case PENDING:
+                return next == CONFIRMED || next == CANCELLED;
+            case CONFIRMED:
+                return next == SHIPPED || next == CANCELLED;
+            case SHIPPED:
+                return next == DELIVERED;
+            default:
+                return false;
+        }
+    }
+}
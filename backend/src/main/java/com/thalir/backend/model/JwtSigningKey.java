@@ -0,0 +1,62 @@
+package com.thalir.backend.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An asymmetric JWT signing key pair. The private key is as sensitive as jwt.secret;
+ * access to this table must be restricted accordingly.
+ */
+@Entity
+@Table(name = "jwt_signing_keys", indexes = @Index(name = "idx_jwt_signing_keys_retires_at", columnList = "retires_at"))
+@Data
+@NoArgsConstructor
+public class JwtSigningKey {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true, nullable = false, length = 64)
+    private String kid;
+
+    @Column(nullable = false, length = 16)
+    private String algorithm;
+
+    // Base64 X.509 SubjectPublicKeyInfo
+    @Column(name = "public_key", nullable = false, columnDefinition = "TEXT")
+    private String publicKey;
+
+    // Base64 PKCS#8
+    @Column(name = "private_key", nullable = false, columnDefinition = "TEXT")
+    private String privateKey;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    // Published in the JWKS from creation, but signs only from here on
+    @Column(name = "activates_at", nullable = false)
+    private Instant activatesAt;
+
+    // End of the overlap window; tokens signed with this key are rejected afterwards
+    @Column(name = "retires_at", nullable = false)
+    private Instant retiresAt;
+
+    // One more than the newest key when created; unique, so concurrent rotations create one key
+    @Column(unique = true, nullable = false)
+    private Long generation;
+
+    public JwtSigningKey(String kid, String algorithm, String publicKey, String privateKey, Instant createdAt,
+            Instant activatesAt, Instant retiresAt, Long generation) {
+        this.kid = kid;
+        this.algorithm = algorithm;
+        this.publicKey = publicKey;
+        this.privateKey = privateKey;
+        this.createdAt = createdAt;
+        this.activatesAt = activatesAt;
+        this.retiresAt = retiresAt;
+        this.generation = generation;
+    }
+}
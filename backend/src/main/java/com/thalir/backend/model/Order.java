@@ -0,0 +1,82 @@
+package com.thalir.backend.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * An order placed by a customer. The idempotency key is chosen by the client and is
+ * unique per customer, so a retried placement returns the original order. Ids come
+ * from a pooled sequence rather than IDENTITY so a batch of orders and their items
+ * can be inserted with JDBC batching.
+ */
+@Entity
+@Table(name = "orders", uniqueConstraints = {
+        @UniqueConstraint(name = Order.UNIQUE_IDEMPOTENCY_KEY, columnNames = { "customer_id", "idempotency_key" })
+}, indexes = @Index(name = "idx_orders_customer_id", columnList = "customer_id, id"))
+@Data
+@NoArgsConstructor
+public class Order {
+    public static final String UNIQUE_IDEMPOTENCY_KEY = "uk_orders_customer_idempotency_key";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "customer_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private User customer;
+
+    @Column(name = "idempotency_key", nullable = false, length = 64)
+    private String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EOrderStatus status = EOrderStatus.PENDING;
+
+    @Column(name = "total_amount", nullable = false, precision = 12, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<OrderItem> items = new ArrayList<>();
+
+    public void addItem(OrderItem item) {
+        item.setOrder(this);
+        items.add(item);
+        totalAmount = totalAmount.add(item.getLineTotal());
+    }
+
+    @PrePersist
+    void onCreate() {
+        createdAt = Instant.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        updatedAt = Instant.now();
+    }
+}
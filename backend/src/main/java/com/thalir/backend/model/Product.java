@@ -0,0 +1,93 @@
+package com.thalir.backend.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import com.thalir.backend.services.ProductCacheInvalidationListener;
+
+/**
+ * A fertilizer product listed by a provider. Listings are paged by seeking past the
+ * last (sort key, id) seen rather than with OFFSET, so each index below leads with a
+ * filter or sort key and ends with id.
+ */
+@Entity
+@Table(name = "products", uniqueConstraints = {
+        @UniqueConstraint(name = Product.UNIQUE_PROVIDER_SKU, columnNames = { "provider_id", "sku" })
+}, indexes = {
+        @Index(name = "idx_products_provider_id", columnList = "provider_id, id"),
+        @Index(name = "idx_products_category_id", columnList = "enabled, category, id"),
+        @Index(name = "idx_products_price_id", columnList = "enabled, price, id"),
+        @Index(name = "idx_products_category_price_id", columnList = "enabled, category, price, id")
+})
+@EntityListeners(ProductCacheInvalidationListener.class)
+@Data
+@NoArgsConstructor
+public class Product {
+    public static final String UNIQUE_PROVIDER_SKU = "uk_products_provider_sku";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "provider_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private User provider;
+
+    @NotBlank
+    @Size(max = 100)
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @NotBlank
+    @Size(max = 40)
+    @Column(nullable = false, length = 40)
+    private String sku;
+
+    @NotBlank
+    @Column(nullable = false, length = 20)
+    private String category;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal price;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Column(name = "minimum_stock", nullable = false)
+    private int minimumStock;
+
+    @Column(nullable = false)
+    private boolean enabled = true;
+
+    // Also bumped by the conditional stock updates orders make, so edits never overwrite them blindly
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @PrePersist
+    void onCreate() {
+        createdAt = Instant.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        updatedAt = Instant.now();
+    }
+}
@@ -0,0 +1,50 @@
+package com.thalir.backend.model;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sales per product and day, net of cancellations. The key leads with provider and
+ * date so a provider's top products over a date range read one contiguous range.
+ */
+@Entity
+@Table(name = "product_sales_daily")
+@IdClass(ProductSalesDaily.Key.class)
+@Data
+@NoArgsConstructor
+public class ProductSalesDaily {
+    @Id
+    @Column(name = "provider_id")
+    private Long providerId;
+
+    @Id
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "units_sold", nullable = false)
+    private long unitsSold;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long providerId;
+        private LocalDate salesDate;
+        private Long productId;
+    }
+}
@@ -0,0 +1,41 @@
+package com.thalir.backend.model;
+
+import java.io.Serializable;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of orders currently in each status that include at least one of the
+ * provider's products.
+ */
+@Entity
+@Table(name = "provider_order_status")
+@IdClass(ProviderOrderStatusCount.Key.class)
+@Data
+@NoArgsConstructor
+public class ProviderOrderStatusCount {
+    @Id
+    @Column(name = "provider_id")
+    private Long providerId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private EOrderStatus status;
+
+    @Column(nullable = false)
+    private long orders;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long providerId;
+        private EOrderStatus status;
+    }
+}
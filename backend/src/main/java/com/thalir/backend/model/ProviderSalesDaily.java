@@ -0,0 +1,52 @@
+package com.thalir.backend.model;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sales per provider and calendar day in the analytics time zone, maintained
+ * incrementally by SalesRollupService as orders are placed and cancelled. A
+ * cancellation is taken back out of units and revenue on the day the order was placed.
+ */
+@Entity
+@Table(name = "provider_sales_daily")
+@IdClass(ProviderSalesDaily.Key.class)
+@Data
+@NoArgsConstructor
+public class ProviderSalesDaily {
+    @Id
+    @Column(name = "provider_id")
+    private Long providerId;
+
+    @Id
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    @Column(name = "orders_placed", nullable = false)
+    private long ordersPlaced;
+
+    @Column(name = "orders_cancelled", nullable = false)
+    private long ordersCancelled;
+
+    @Column(name = "units_sold", nullable = false)
+    private long unitsSold;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long providerId;
+        private LocalDate salesDate;
+    }
+}
@@ -0,0 +1,51 @@
+package com.thalir.backend.model;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sales per provider and hour, keyed by the start of the hour in the analytics time
+ * zone. Updated together with provider_sales_daily.
+ */
+@Entity
+@Table(name = "provider_sales_hourly")
+@IdClass(ProviderSalesHourly.Key.class)
+@Data
+@NoArgsConstructor
+public class ProviderSalesHourly {
+    @Id
+    @Column(name = "provider_id")
+    private Long providerId;
+
+    @Id
+    @Column(name = "sales_hour")
+    private LocalDateTime salesHour;
+
+    @Column(name = "orders_placed", nullable = false)
+    private long ordersPlaced;
+
+    @Column(name = "orders_cancelled", nullable = false)
+    private long ordersCancelled;
+
+    @Column(name = "units_sold", nullable = false)
+    private long unitsSold;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long providerId;
+        private LocalDateTime salesHour;
+    }
+}
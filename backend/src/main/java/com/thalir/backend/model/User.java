@@ -5,19 +5,27 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import com.thalir.backend.security.services.UserCacheInvalidationListener;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "users", uniqueConstraints = {
-        @UniqueConstraint(columnNames = "username"),
-        @UniqueConstraint(columnNames = "email")
-})
+        @UniqueConstraint(name = User.UNIQUE_USERNAME, columnNames = "username"),
+        @UniqueConstraint(name = User.UNIQUE_EMAIL, columnNames = "email")
+}, indexes = @Index(name = "idx_users_token_version", columnList = "token_version"))
+@EntityListeners(UserCacheInvalidationListener.class)
 @Data
 @NoArgsConstructor
 public class User {
+    public static final String UNIQUE_USERNAME = "uk_users_username";
+    public static final String UNIQUE_EMAIL = "uk_users_email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -35,10 +43,17 @@ public class User {
     @Size(max = 120)
     private String password;
 
+    // Left out of equals, hashCode and toString so they never initialize the lazy collection
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"), inverseJoinColumns = @JoinColumn(name = "role_id"))
     private Set<Role> roles = new HashSet<>();
 
+    // Bumped whenever the user's roles change so previously issued tokens stop being accepted
+    @Column(name = "token_version", nullable = false, columnDefinition = "integer default 0")
+    private int tokenVersion;
+
     public User(String username, String email, String password) {
         this.username = username;
         this.email = email;
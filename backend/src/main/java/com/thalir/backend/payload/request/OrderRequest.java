@@ -0,0 +1,28 @@
+package com.thalir.backend.payload.request;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class OrderRequest {
+    @NotEmpty
+    @Size(max = 50)
+    @Valid
+    private List<Item> items;
+
+    @Data
+    @NoArgsConstructor
+    public static class Item {
+        @NotNull
+        private Long productId;
+
+        @Min(1)
+        @Max(10000)
+        private int quantity;
+    }
+}
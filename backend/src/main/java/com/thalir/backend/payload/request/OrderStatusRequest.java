@@ -0,0 +1,12 @@
+package com.thalir.backend.payload.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import com.thalir.backend.model.EOrderStatus;
+
+@Data
+public class OrderStatusRequest {
+    @NotNull
+    private EOrderStatus status;
+}
@@ -0,0 +1,34 @@
+package com.thalir.backend.payload.request;
+
+import java.math.BigDecimal;
+
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+@Data
+public class ProductRequest {
+    @NotBlank
+    @Size(max = 100)
+    private String name;
+
+    @NotBlank
+    @Size(max = 40)
+    private String sku;
+
+    @NotBlank
+    @Pattern(regexp = "NITROGEN|ORGANIC|LIQUID-FREE|SYNTHETIC")
+    private String category;
+
+    @NotNull
+    @DecimalMin("0.00")
+    @Digits(integer = 8, fraction = 2)
+    private BigDecimal price;
+
+    @Min(0)
+    private int quantity;
+
+    @Min(0)
+    private int minimumStock;
+
+    private boolean enabled = true;
+}
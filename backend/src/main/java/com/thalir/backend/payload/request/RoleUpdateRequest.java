@@ -0,0 +1,13 @@
+package com.thalir.backend.payload.request;
+
+import java.util.Set;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+@Data
+public class RoleUpdateRequest {
+    // Same names as SignupRequest.role: admin, provider, consumer, farmer
+    @NotEmpty
+    private Set<String> role;
+}
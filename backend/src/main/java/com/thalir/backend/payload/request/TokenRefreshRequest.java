@@ -0,0 +1,10 @@
+package com.thalir.backend.payload.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class TokenRefreshRequest {
+    @NotBlank
+    private String refreshToken;
+}
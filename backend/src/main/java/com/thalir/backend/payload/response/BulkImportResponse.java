@@ -0,0 +1,16 @@
+package com.thalir.backend.payload.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class BulkImportResponse {
+    private long total;
+    private long created;
+    private long failed;
+    private long elapsedMs;
+    private double rowsPerSecond;
+    private List<BulkImportRowResult> rows = new ArrayList<>();
+}
@@ -0,0 +1,15 @@
+package com.thalir.backend.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkImportRowResult {
+    private long line;
+    private String username;
+    private String status;
+    private String message;
+}
@@ -6,6 +6,7 @@ import lombok.Data;
 @Data
 public class JwtResponse {
     private String token;
+    private String refreshToken;
     private String type = "Bearer";
     private Long id;
     private String username;
@@ -19,4 +20,10 @@ public class JwtResponse {
         this.email = email;
         this.roles = roles;
     }
+
+    public JwtResponse(String accessToken, String refreshToken, Long id, String username, String email,
+            List<String> roles) {
+        this(accessToken, id, username, email, roles);
+        this.refreshToken = refreshToken;
+    }
 }
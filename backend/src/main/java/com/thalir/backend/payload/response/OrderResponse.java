@@ -0,0 +1,84 @@
+package com.thalir.backend.payload.response;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import com.thalir.backend.model.EOrderStatus;
+import com.thalir.backend.model.Order;
+import com.thalir.backend.model.OrderItem;
+
+@Data
+@NoArgsConstructor
+public class OrderResponse {
+    private Long id;
+    private String orderNumber;
+    private Long customerId;
+    private EOrderStatus status;
+    private BigDecimal totalAmount;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private List<Item> items = new ArrayList<>();
+
+    public static OrderResponse of(Order order, List<OrderItem> items) {
+        OrderResponse response = new OrderResponse();
+        response.id = order.getId();
+        response.orderNumber = "ORD-" + order.getId();
+        response.customerId = order.getCustomer().getId();
+        response.status = order.getStatus();
+        response.totalAmount = order.getTotalAmount();
+        response.createdAt = order.getCreatedAt();
+        response.updatedAt = order.getUpdatedAt();
+        for (OrderItem item : items) {
+            response.items.add(new Item(item));
+        }
+        return response;
+    }
+
+    public static OrderResponse of(Order order) {
+        return of(order, order.getItems());
+    }
+
+    // What one provider sees: only the lines they supply, and the total of those lines
+    public OrderResponse forProvider(Long providerId) {
+        OrderResponse response = new OrderResponse();
+        response.id = id;
+        response.orderNumber = orderNumber;
+        response.customerId = customerId;
+        response.status = status;
+        response.createdAt = createdAt;
+        response.updatedAt = updatedAt;
+        response.totalAmount = BigDecimal.ZERO;
+        for (Item item : items) {
+            if (providerId.equals(item.getProviderId())) {
+                response.items.add(item);
+                response.totalAmount = response.totalAmount.add(item.getLineTotal());
+            }
+        }
+        return response;
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class Item {
+        private Long productId;
+        private Long providerId;
+        private String productName;
+        private BigDecimal unitPrice;
+        private int quantity;
+        private BigDecimal lineTotal;
+
+        Item(OrderItem item) {
+            this.productId = item.getProductId();
+            this.providerId = item.getProviderId();
+            this.productName = item.getProductName();
+            this.unitPrice = item.getUnitPrice();
+            this.quantity = item.getQuantity();
+            this.lineTotal = item.getLineTotal();
+        }
+    }
+}
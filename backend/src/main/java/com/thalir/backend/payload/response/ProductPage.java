@@ -0,0 +1,15 @@
+package com.thalir.backend.payload.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ProductPage {
+    private List<ProductResponse> items;
+
+    // Pass back as ?cursor= for the next page; null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,40 @@
+package com.thalir.backend.payload.response;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class ProductResponse {
+    private Long id;
+    private String name;
+    private String sku;
+    private String category;
+    private BigDecimal price;
+    private int quantity;
+    private int minimumStock;
+    private String status;
+    private boolean enabled;
+    private Long providerId;
+    private String providerName;
+    private Instant updatedAt;
+
+    public ProductResponse(Long id, String name, String sku, String category, BigDecimal price, int quantity,
+            int minimumStock, boolean enabled, Long providerId, String providerName, Instant updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.sku = sku;
+        this.category = category;
+        this.price = price;
+        this.quantity = quantity;
+        this.minimumStock = minimumStock;
+        this.enabled = enabled;
+        this.providerId = providerId;
+        this.providerName = providerName;
+        this.updatedAt = updatedAt;
+        this.status = quantity == 0 ? "Out of Stock" : quantity < minimumStock ? "Low Stock" : "Active";
+    }
+}
@@ -0,0 +1,18 @@
+package com.thalir.backend.payload.response;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSalesResponse {
+    private Long productId;
+    // Null once the product has been deleted
+    private String productName;
+    private Long unitsSold;
+    private BigDecimal revenue;
+}
@@ -0,0 +1,19 @@
+package com.thalir.backend.payload.response;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesPoint {
+    // ISO date for daily series, ISO local date-time of the hour start for hourly series
+    private String period;
+    private long ordersPlaced;
+    private long ordersCancelled;
+    private long unitsSold;
+    private BigDecimal revenue;
+}
@@ -0,0 +1,23 @@
+package com.thalir.backend.payload.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import lombok.Data;
+
+@Data
+public class SalesSummaryResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private BigDecimal revenue;
+    private long ordersPlaced;
+    private long ordersCancelled;
+    private long unitsSold;
+    private BigDecimal averageOrderValue;
+    // Change against the preceding period of the same length; null when that period had no sales
+    private Double revenueChangePercent;
+    private Double ordersChangePercent;
+    // Orders currently in each status, regardless of the date range
+    private Map<String, Long> ordersByStatus;
+}
@@ -0,0 +1,15 @@
+package com.thalir.backend.payload.response;
+
+import lombok.Data;
+
+@Data
+public class TokenRefreshResponse {
+    private String token;
+    private String refreshToken;
+    private String type = "Bearer";
+
+    public TokenRefreshResponse(String accessToken, String refreshToken) {
+        this.token = accessToken;
+        this.refreshToken = refreshToken;
+    }
+}
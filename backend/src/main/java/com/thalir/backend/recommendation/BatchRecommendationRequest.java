@@ -0,0 +1,14 @@
+package com.thalir.backend.recommendation;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRecommendationRequest {
+    private List<RecommendationRequest> requests;
+}
@@ -0,0 +1,20 @@
+package com.thalir.backend.recommendation;
+
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class BatchRecommendationResponse {
+    // One per request, in request order
+    private List<Item> results;
+
+    @Data
+    @NoArgsConstructor
+    public static class Item {
+        private RecommendationResponse recommendation;
+        private String error;
+    }
+}
@@ -0,0 +1,168 @@
+package com.thalir.backend.recommendation;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Failure-rate circuit breaker over the outcomes of the last window-size calls. Once
+ * at least minimum-calls have been recorded and the failure rate reaches the
+ * threshold, calls are refused for open-duration; after that a few trial calls are
+ * let through, and the circuit closes again only if all of them succeed.
+ */
+public class CircuitBreaker {
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final boolean[] outcomes;
+    private int next;
+    private int recorded;
+    private int failures;
+
+    private volatile State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long openDurationMs,
+            int halfOpenCalls) {
+        this.outcomes = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openDurationMs);
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    /**
+     * Returns true if a call may be made; the caller must then report its outcome.
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                if (System.nanoTime() - openedAt < openNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                halfOpenPermits = halfOpenCalls;
+                halfOpenSuccesses = 0;
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenPermits == 0) {
+                    return false;
+                }
+                halfOpenPermits--;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onSuccess() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                if (++halfOpenSuccesses >= halfOpenCalls) {
+                    close();
+                }
+                return;
+            }
+            record(false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onFailure() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                open();
+                return;
+            }
+            record(true);
+            if (state == State.CLOSED && recorded >= minimumCalls
+                    && failures >= failureRateThreshold * recorded) {
+                open();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // A call that was acquired but never made, e.g. because sending it failed outright
+    public void release() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN && halfOpenPermits < halfOpenCalls) {
+                halfOpenPermits++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    // Calls are refused right now; once open-duration has passed, the next tryAcquire half-opens the circuit
+    public boolean isOpen() {
+        if (state != State.OPEN) {
+            return false;
+        }
+        lock.lock();
+        try {
+            return state == State.OPEN && System.nanoTime() - openedAt < openNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long retryAfterSeconds() {
+        lock.lock();
+        try {
+            long remaining = state == State.OPEN ? openNanos - (System.nanoTime() - openedAt) : 0;
+            return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remaining + TimeUnit.SECONDS.toNanos(1) - 1));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(boolean failure) {
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        next = 0;
+        recorded = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,185 @@
+package com.thalir.backend.recommendation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Non-blocking client for the ML service. One HttpClient is shared for the lifetime
+ * of the application so connections are kept alive and reused between predictions.
+ * Every call has a deadline, at most max-concurrent-calls run at once, and a circuit
+ * breaker stops calling a failing service; refused calls fail immediately with
+ * MlServiceUnavailableException instead of waiting.
+ */
+@Component
+public class MlServiceClient {
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Value("${recommendation.ml-service.url:http://localhost:8000}")
+    private String baseUrl;
+
+    @Value("${recommendation.ml-service.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    // Deadline for each call, including the response body; above the ML service's 4s weather budget
+    @Value("${recommendation.ml-service.request-timeout-ms:6000}")
+    private long requestTimeoutMs;
+
+    @Value("${recommendation.ml-service.max-concurrent-calls:8}")
+    private int maxConcurrentCalls;
+
+    @Value("${recommendation.ml-service.circuit.window-size:20}")
+    private int circuitWindowSize;
+
+    @Value("${recommendation.ml-service.circuit.minimum-calls:10}")
+    private int circuitMinimumCalls;
+
+    @Value("${recommendation.ml-service.circuit.failure-rate-threshold:0.5}")
+    private double circuitFailureRateThreshold;
+
+    @Value("${recommendation.ml-service.circuit.open-duration-ms:30000}")
+    private long circuitOpenDurationMs;
+
+    @Value("${recommendation.ml-service.circuit.half-open-calls:3}")
+    private int circuitHalfOpenCalls;
+
+    private HttpClient httpClient;
+
+    private URI recommendUri;
+
+    private URI batchUri;
+
+    private Semaphore bulkhead;
+
+    private CircuitBreaker circuitBreaker;
+
+    @PostConstruct
+    public void init() {
+        // uvicorn speaks HTTP/1.1 only; skip the h2c upgrade attempt on every new connection
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        String base = baseUrl.replaceAll("/+$", "");
+        recommendUri = URI.create(base + "/recommend");
+        batchUri = URI.create(base + "/recommend/batch");
+
+        bulkhead = new Semaphore(maxConcurrentCalls);
+        circuitBreaker = new CircuitBreaker(circuitWindowSize, circuitMinimumCalls, circuitFailureRateThreshold,
+                circuitOpenDurationMs, circuitHalfOpenCalls);
+    }
+
+    public CompletableFuture<RecommendationResponse> recommend(RecommendationRequest request) {
+        return post(recommendUri, request, RecommendationResponse.class);
+    }
+
+    // Results are in request order; each carries either a recommendation or an error
+    public CompletableFuture<BatchRecommendationResponse> recommendBatch(List<RecommendationRequest> requests) {
+        return post(batchUri, new BatchRecommendationRequest(requests), BatchRecommendationResponse.class);
+    }
+
+    private <T> CompletableFuture<T> post(URI uri, Object body, Class<T> type) {
+        HttpRequest httpRequest = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .timeout(Duration.ofMillis(requestTimeoutMs))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(write(body)))
+                .build();
+
+        if (!bulkhead.tryAcquire()) {
+            return CompletableFuture.failedFuture(
+                    new MlServiceUnavailableException("Too many calls to the ML service in flight", 1));
+        }
+        if (!circuitBreaker.tryAcquire()) {
+            bulkhead.release();
+            return CompletableFuture.failedFuture(new MlServiceUnavailableException(
+                    "ML service circuit is open", circuitBreaker.retryAfterSeconds()));
+        }
+
+        CompletableFuture<HttpResponse<byte[]>> sent;
+        try {
+            sent = httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (RuntimeException e) {
+            // Thrown before any request went out, so neither permit was used
+            bulkhead.release();
+            circuitBreaker.release();
+            return CompletableFuture.failedFuture(new MlServiceException("ML service call not sent: " + e, e));
+        }
+        return sent
+                .orTimeout(requestTimeoutMs, TimeUnit.MILLISECONDS)
+                .handle((response, error) -> {
+                    bulkhead.release();
+                    if (error != null) {
+                        circuitBreaker.onFailure();
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause()
+                                : error;
+                        if (cause instanceof TimeoutException || cause instanceof HttpTimeoutException) {
+                            throw new MlServiceException("ML service did not answer within " + requestTimeoutMs
+                                    + " ms", cause);
+                        }
+                        throw new MlServiceException("ML service unreachable: " + cause, cause);
+                    }
+                    // 503 while the model loads and 500s count against the circuit; 4xx are caller errors
+                    if (response.statusCode() >= 500) {
+                        circuitBreaker.onFailure();
+                    } else {
+                        circuitBreaker.onSuccess();
+                    }
+                    return read(response, type);
+                });
+    }
+
+    public boolean isCircuitOpen() {
+        return circuitBreaker.isOpen();
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    public int getCallsInFlight() {
+        return maxConcurrentCalls - bulkhead.availablePermits();
+    }
+
+    private <T> T read(HttpResponse<byte[]> response, Class<T> type) {
+        if (response.statusCode() != 200) {
+            throw new MlServiceException("ML service returned " + response.statusCode() + " for "
+                    + response.uri().getPath());
+        }
+        try {
+            return objectMapper.readValue(response.body(), type);
+        } catch (IOException e) {
+            throw new MlServiceException("Unreadable ML service response", e);
+        }
+    }
+
+    private byte[] write(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.thalir.backend.recommendation;
+
+public class MlServiceException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public MlServiceException(String message) {
+        super(message);
+    }
+
+    public MlServiceException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,17 @@
+package com.thalir.backend.recommendation;
+
+// The call was not attempted: the circuit is open or too many calls are in flight
+public class MlServiceUnavailableException extends MlServiceException {
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public MlServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,212 @@
+package com.thalir.backend.recommendation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Collects concurrent prediction requests for up to max-wait-ms, or until max-size
+ * have arrived, and sends them to the ML service as one batch so the model scores
+ * them in a single call. A single dispatcher thread drains the bounded queue; at most
+ * max-in-flight batches are outstanding, and while that limit is reached the queue
+ * fills up and further requests are rejected instead of piling up.
+ */
+@Component
+public class RecommendationBatcher {
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationBatcher.class);
+
+    @Autowired
+    MlServiceClient mlServiceClient;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Value("${recommendation.batch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${recommendation.batch.max-size:32}")
+    private int maxBatchSize;
+
+    @Value("${recommendation.batch.max-wait-ms:5}")
+    private long maxWaitMs;
+
+    @Value("${recommendation.batch.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${recommendation.batch.max-in-flight:4}")
+    private int maxInFlight;
+
+    private BlockingQueue<Pending> queue;
+
+    private Semaphore inFlight;
+
+    private Thread dispatcher;
+
+    private volatile boolean running;
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private DistributionSummary batchSize;
+
+    private Timer queueWait;
+
+    @PostConstruct
+    public void start() {
+        batchSize = DistributionSummary.builder("recommendation.batch.size")
+                .description("Predictions per request to the ML service")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        queueWait = Timer.builder("recommendation.batch.queue.wait")
+                .description("Time a prediction waits before its batch is sent")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        inFlight = new Semaphore(maxInFlight);
+        Gauge.builder("recommendation.batch.queue.size", queue, BlockingQueue::size)
+                .register(meterRegistry);
+        Gauge.builder("recommendation.batch.inflight", inFlight, s -> maxInFlight - s.availablePermits())
+                .register(meterRegistry);
+        FunctionCounter.builder("recommendation.batch.rejected", rejected, AtomicLong::get)
+                .description("Predictions rejected because the batch queue was full")
+                .register(meterRegistry);
+
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "recommendation-batcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+    }
+
+    public CompletableFuture<RecommendationResponse> submit(RecommendationRequest request) {
+        if (!enabled) {
+            batchSize.record(1);
+            return mlServiceClient.recommend(request);
+        }
+
+        Pending pending = new Pending(request);
+        if (!queue.offer(pending)) {
+            rejected.incrementAndGet();
+            pending.future.completeExceptionally(
+                    new RecommendationCapacityExceededException("Recommendation queue is full", 1));
+        }
+        return pending.future;
+    }
+
+    private void dispatchLoop() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+                while (batch.size() < maxBatchSize) {
+                    // Take whatever is already queued without waiting, then wait out the window
+                    if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    Pending next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                inFlight.acquire();
+                send(new ArrayList<>(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(batch, new MlServiceException("Recommendation dispatcher stopped"));
+                break;
+            } catch (RuntimeException e) {
+                logger.error("Recommendation batch could not be sent", e);
+                fail(batch, e);
+            }
+            batch.clear();
+        }
+
+        List<Pending> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        fail(remaining, new MlServiceException("Recommendation dispatcher stopped"));
+    }
+
+    private void send(List<Pending> batch) {
+        long now = System.nanoTime();
+        List<RecommendationRequest> requests = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            queueWait.record(now - pending.enqueuedAt, TimeUnit.NANOSECONDS);
+            requests.add(pending.request);
+        }
+        batchSize.record(batch.size());
+
+        CompletableFuture<BatchRecommendationResponse> response;
+        try {
+            response = mlServiceClient.recommendBatch(requests);
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+        response.whenComplete((result, error) -> {
+            inFlight.release();
+            if (error != null) {
+                fail(batch, error);
+                return;
+            }
+            List<BatchRecommendationResponse.Item> items = result.getResults();
+            for (int i = 0; i < batch.size(); i++) {
+                BatchRecommendationResponse.Item item = items != null && i < items.size() ? items.get(i) : null;
+                if (item != null && item.getRecommendation() != null) {
+                    batch.get(i).future.complete(item.getRecommendation());
+                } else {
+                    batch.get(i).future.completeExceptionally(new MlServiceException(
+                            "ML service could not predict: " + (item != null ? item.getError() : "no result")));
+                }
+            }
+        });
+    }
+
+    private static void fail(List<Pending> batch, Throwable error) {
+        for (Pending pending : batch) {
+            pending.future.completeExceptionally(error);
+        }
+    }
+
+    private static final class Pending {
+        private final RecommendationRequest request;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<RecommendationResponse> future = new CompletableFuture<>();
+
+        private Pending(RecommendationRequest request) {
+            this.request = request;
+        }
+    }
+}
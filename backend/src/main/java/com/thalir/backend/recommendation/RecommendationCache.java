@@ -0,0 +1,67 @@
+package com.thalir.backend.recommendation;
+
+import java.time.Duration;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.thalir.backend.cache.BoundedTtlCache;
+
+/**
+ * Bounded, TTL-based cache of per-acre predictions keyed by normalized inputs.
+ * Expired entries are kept for stale-ttl-seconds as a fallback while the ML service
+ * is unavailable.
+ */
+@Component
+public class RecommendationCache {
+    @Value("${recommendation.cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${recommendation.cache.ttl-seconds:900}")
+    private long ttlSeconds;
+
+    @Value("${recommendation.cache.stale-ttl-seconds:86400}")
+    private long staleTtlSeconds;
+
+    private BoundedTtlCache<String, RecommendationResponse> entries;
+
+    @PostConstruct
+    public void init() {
+        entries = new BoundedTtlCache<>(maxSize, Duration.ofSeconds(ttlSeconds), Duration.ofSeconds(staleTtlSeconds));
+    }
+
+    public RecommendationResponse get(String key) {
+        return entries.get(key);
+    }
+
+    // The last prediction for the key, even if expired, as long as it is within the stale window
+    public RecommendationResponse getStale(String key) {
+        return entries.getStale(key);
+    }
+
+    public void put(String key, RecommendationResponse response) {
+        entries.put(key, response);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return entries.getHitCount();
+    }
+
+    public long getMissCount() {
+        return entries.getMissCount();
+    }
+
+    public long getEvictionCount() {
+        return entries.getEvictionCount();
+    }
+}
@@ -0,0 +1,26 @@
+package com.thalir.backend.recommendation;
+
+import java.util.concurrent.CompletableFuture;
+
+import jakarta.validation.Valid;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/recommendations")
+public class RecommendationController {
+    @Autowired
+    RecommendationService recommendationService;
+
+    // Completes asynchronously; no servlet thread waits on the ML service
+    @PostMapping
+    public CompletableFuture<RecommendationResponse> recommend(@Valid @RequestBody RecommendationRequest request) {
+        return recommendationService.recommend(request);
+    }
+}
@@ -0,0 +1,56 @@
+package com.thalir.backend.recommendation;
+
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Component
+public class RecommendationMetrics implements MeterBinder {
+    @Autowired
+    RecommendationCache cache;
+
+    @Autowired
+    RecommendationService recommendationService;
+
+    @Autowired
+    MlServiceClient mlServiceClient;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("recommendation.cache.requests", cache, RecommendationCache::getHitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("recommendation.cache.requests", cache, RecommendationCache::getMissCount)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("recommendation.cache.evictions", cache, RecommendationCache::getEvictionCount)
+                .register(registry);
+        Gauge.builder("recommendation.cache.size", cache, RecommendationCache::size)
+                .register(registry);
+        FunctionCounter.builder("recommendation.coalesced", recommendationService,
+                RecommendationService::getCoalescedCount)
+                .description("Requests served by joining an identical in-flight prediction")
+                .register(registry);
+        Gauge.builder("recommendation.inflight", recommendationService, RecommendationService::getInFlightCount)
+                .register(registry);
+        FunctionCounter.builder("recommendation.stale.served", recommendationService,
+                RecommendationService::getStaleServedCount)
+                .description("Responses served from expired cache entries because the ML service was unavailable")
+                .register(registry);
+
+        Gauge.builder("recommendation.ml.calls.inflight", mlServiceClient, MlServiceClient::getCallsInFlight)
+                .register(registry);
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            Gauge.builder("recommendation.ml.circuit.state", mlServiceClient,
+                    client -> client.getCircuitState() == state ? 1 : 0)
+                    .tag("state", state.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.thalir.backend.recommendation;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class RecommendationRequest {
+    @NotBlank
+    @Size(max = 50)
+    private String soilType;
+
+    @NotNull
+    @Positive
+    private Double landArea;
+
+    @NotBlank
+    @Size(max = 120)
+    private String location;
+}
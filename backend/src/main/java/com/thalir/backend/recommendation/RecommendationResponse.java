@@ -0,0 +1,41 @@
+package com.thalir.backend.recommendation;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class RecommendationResponse {
+    private String location;
+    private WeatherSummary weatherSummary;
+    private List<Recommendation> recommendations;
+    // Served from the cache because the ML service could not be reached
+    private boolean stale;
+
+    @Data
+    @NoArgsConstructor
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class WeatherSummary {
+        private double avgTemp;
+        private double humidity;
+        private double rainfallForecast;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class Recommendation {
+        private String crop;
+        private double successRate;
+        private double expectedYieldTons;
+        private double estimatedCost;
+        private double predictedProfit;
+        private String risk;
+    }
+}
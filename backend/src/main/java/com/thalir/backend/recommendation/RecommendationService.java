@@ -0,0 +1,161 @@
+package com.thalir.backend.recommendation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.thalir.backend.recommendation.RecommendationResponse.Recommendation;
+
+/**
+ * Serves crop recommendations from the cache where possible. The ML service's
+ * prediction depends only on soil type and location (through its weather lookup),
+ * and its yield, cost and profit figures are per-acre rates times the land area, so
+ * predictions are requested and cached for one acre and scaled per caller. Concurrent
+ * requests for the same inputs wait on a single in-flight prediction. If no prediction
+ * arrives in time, or the ML service's circuit is open, the last cached prediction for
+ * the same inputs is served and marked stale.
+ */
+@Service
+public class RecommendationService {
+    @Autowired
+    RecommendationBatcher batcher;
+
+    @Autowired
+    MlServiceClient mlServiceClient;
+
+    @Autowired
+    RecommendationCache cache;
+
+    private final ConcurrentMap<String, CompletableFuture<RecommendationResponse>> inFlight = new ConcurrentHashMap<>();
+
+    // End-to-end, including the wait for a batch
+    @Value("${recommendation.deadline-ms:5000}")
+    private long deadlineMs;
+
+    private final AtomicLong coalesced = new AtomicLong();
+
+    private final AtomicLong staleServed = new AtomicLong();
+
+    public CompletableFuture<RecommendationResponse> recommend(RecommendationRequest request) {
+        String soilType = request.getSoilType().trim();
+        String location = normalizeLocation(request.getLocation());
+        String key = soilType + '|' + location.toLowerCase(Locale.ROOT);
+        double landArea = request.getLandArea();
+
+        RecommendationResponse cached = cache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(forArea(cached, location, landArea, false));
+        }
+        // Do not queue behind a circuit that is known to be open when there is something to serve
+        if (mlServiceClient.isCircuitOpen()) {
+            RecommendationResponse stale = cache.getStale(key);
+            if (stale != null) {
+                staleServed.incrementAndGet();
+                return CompletableFuture.completedFuture(forArea(stale, location, landArea, true));
+            }
+        }
+
+        return perAcre(key, soilType, location).handle((response, error) -> {
+            if (error == null) {
+                return forArea(response, location, landArea, false);
+            }
+            RecommendationResponse stale = cache.getStale(key);
+            if (stale == null) {
+                throw error instanceof CompletionException
+                        ? (CompletionException) error
+                        : new CompletionException(error);
+            }
+            staleServed.incrementAndGet();
+            return forArea(stale, location, landArea, true);
+        });
+    }
+
+    private CompletableFuture<RecommendationResponse> perAcre(String key, String soilType, String location) {
+        CompletableFuture<RecommendationResponse> created = new CompletableFuture<>();
+        CompletableFuture<RecommendationResponse> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return existing;
+        }
+
+        CompletableFuture<RecommendationResponse> prediction = batcher.submit(
+                new RecommendationRequest(soilType, 1.0, location));
+        prediction.copy()
+                .orTimeout(deadlineMs, TimeUnit.MILLISECONDS)
+                .whenComplete((response, error) -> {
+                    // Cache before leaving the in-flight map so there is no window with neither
+                    if (error == null) {
+                        cache.put(key, response);
+                    } else {
+                        // A prediction that misses the deadline still warms the cache
+                        prediction.thenAccept(late -> cache.put(key, late));
+                    }
+                    inFlight.remove(key, created);
+                    if (error == null) {
+                        created.complete(response);
+                    } else if (error instanceof TimeoutException) {
+                        created.completeExceptionally(
+                                new MlServiceException("No prediction within " + deadlineMs + " ms", error));
+                    } else {
+                        created.completeExceptionally(error);
+                    }
+                });
+        return created;
+    }
+
+    // The ML service only uses the part before the first comma
+    private static String normalizeLocation(String location) {
+        int comma = location.indexOf(',');
+        String city = comma >= 0 ? location.substring(0, comma) : location;
+        return city.trim().replaceAll("\\s+", " ");
+    }
+
+    private static RecommendationResponse forArea(RecommendationResponse perAcre, String location, double landArea,
+            boolean stale) {
+        List<Recommendation> recommendations = new ArrayList<>(perAcre.getRecommendations().size());
+        for (Recommendation rate : perAcre.getRecommendations()) {
+            Recommendation scaled = new Recommendation();
+            scaled.setCrop(rate.getCrop());
+            scaled.setSuccessRate(rate.getSuccessRate());
+            scaled.setExpectedYieldTons(round(rate.getExpectedYieldTons() * landArea));
+            scaled.setEstimatedCost(round(rate.getEstimatedCost() * landArea));
+            scaled.setPredictedProfit(round(rate.getPredictedProfit() * landArea));
+            scaled.setRisk(rate.getRisk());
+            recommendations.add(scaled);
+        }
+
+        RecommendationResponse response = new RecommendationResponse();
+        response.setLocation(location);
+        response.setWeatherSummary(perAcre.getWeatherSummary());
+        response.setRecommendations(recommendations);
+        response.setStale(stale);
+        return response;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    public long getStaleServedCount() {
+        return staleServed.get();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,26 @@
+package com.thalir.backend.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.thalir.backend.model.JwtSigningKey;
+
+@Repository
+public interface JwtSigningKeyRepository extends JpaRepository<JwtSigningKey, Long> {
+    List<JwtSigningKey> findByRetiresAtAfterOrderByIdAsc(Instant now);
+
+    @Query("select max(k.generation) from JwtSigningKey k")
+    Long findMaxGeneration();
+
+    @Transactional
+    @Modifying
+    @Query("delete from JwtSigningKey k where k.retiresAt < :now")
+    int deleteRetired(@Param("now") Instant now);
+}
@@ -0,0 +1,32 @@
+package com.thalir.backend.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.thalir.backend.model.Order;
+import com.thalir.backend.model.OrderItem;
+
+@Repository
+public interface OrderRepository extends JpaRepository<Order, Long> {
+    @Query("select distinct o from Order o join fetch o.items where o.id = :id")
+    Optional<Order> findWithItemsById(@Param("id") Long id);
+
+    // Candidates for replayed placements; callers match customer and key pairwise
+    @Query("select distinct o from Order o join fetch o.items "
+            + "where o.customer.id in :customerIds and o.idempotencyKey in :keys")
+    List<Order> findWithItemsByIdempotencyKeys(@Param("customerIds") Collection<Long> customerIds,
+            @Param("keys") Collection<String> keys);
+
+    @Query("select o from Order o where o.customer.id = :customerId and o.id < :beforeId order by o.id desc")
+    List<Order> findByCustomer(@Param("customerId") Long customerId, @Param("beforeId") long beforeId, Limit limit);
+
+    @Query("select i from OrderItem i where i.order.id in :orderIds order by i.id")
+    List<OrderItem> findItemsByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+}
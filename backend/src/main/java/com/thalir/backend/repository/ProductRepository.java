@@ -0,0 +1,74 @@
+package com.thalir.backend.repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.thalir.backend.model.Product;
+import com.thalir.backend.payload.response.ProductResponse;
+
+/**
+ * Listing queries select straight into ProductResponse with the provider joined in,
+ * so a page is one statement however many providers it spans. Each one seeks past
+ * the previous page's last row on an index ending in id instead of using OFFSET.
+ */
+@Repository
+public interface ProductRepository extends JpaRepository<Product, Long> {
+    String SELECT_RESPONSE = "select new com.thalir.backend.payload.response.ProductResponse(p.id, p.name, p.sku, "
+            + "p.category, p.price, p.quantity, p.minimumStock, p.enabled, pr.id, pr.username, p.updatedAt) "
+            + "from Product p join p.provider pr ";
+
+    @Query(SELECT_RESPONSE + "where p.id = :id")
+    Optional<ProductResponse> findResponseById(@Param("id") Long id);
+
+    @Query("select p.provider.id from Product p where p.id = :id")
+    Optional<Long> findProviderIdById(@Param("id") Long id);
+
+    @Query(SELECT_RESPONSE + "where p.enabled = true and p.id < :beforeId order by p.id desc")
+    List<ProductResponse> findNewest(@Param("beforeId") long beforeId, Limit limit);
+
+    @Query(SELECT_RESPONSE + "where p.enabled = true and p.category = :category and p.id < :beforeId "
+            + "order by p.id desc")
+    List<ProductResponse> findNewestInCategory(@Param("category") String category,
+            @Param("beforeId") long beforeId, Limit limit);
+
+    @Query(SELECT_RESPONSE + "where p.enabled = true "
+            + "and (p.price > :afterPrice or (p.price = :afterPrice and p.id > :afterId)) "
+            + "order by p.price asc, p.id asc")
+    List<ProductResponse> findCheapest(@Param("afterPrice") BigDecimal afterPrice, @Param("afterId") long afterId,
+            Limit limit);
+
+    @Query(SELECT_RESPONSE + "where p.enabled = true and p.category = :category "
+            + "and (p.price > :afterPrice or (p.price = :afterPrice and p.id > :afterId)) "
+            + "order by p.price asc, p.id asc")
+    List<ProductResponse> findCheapestInCategory(@Param("category") String category,
+            @Param("afterPrice") BigDecimal afterPrice, @Param("afterId") long afterId, Limit limit);
+
+    // A provider's own listing, disabled products included
+    @Query(SELECT_RESPONSE + "where pr.id = :providerId and p.id < :beforeId order by p.id desc")
+    List<ProductResponse> findByProvider(@Param("providerId") Long providerId, @Param("beforeId") long beforeId,
+            Limit limit);
+
+    @Query("select p.id as id, p.name as name, p.price as price, p.quantity as quantity, p.enabled as enabled, "
+            + "p.provider.id as providerId from Product p where p.id in :ids")
+    List<ProductStock> findStockByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Conditional and atomic: the row is locked only for this statement, never across a request.
+    // A product disabled since the stock snapshot was taken is not sold either.
+    @Modifying
+    @Query("update Product p set p.quantity = p.quantity - :quantity, p.version = p.version + 1 "
+            + "where p.id = :id and p.enabled = true and p.quantity >= :quantity")
+    int decrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("update Product p set p.quantity = p.quantity + :quantity, p.version = p.version + 1 where p.id = :id")
+    int incrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+}
@@ -0,0 +1,17 @@
+package com.thalir.backend.repository;
+
+import java.math.BigDecimal;
+
+public interface ProductStock {
+    Long getId();
+
+    String getName();
+
+    BigDecimal getPrice();
+
+    int getQuantity();
+
+    boolean isEnabled();
+
+    Long getProviderId();
+}
@@ -0,0 +1,84 @@
+package com.thalir.backend.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.thalir.backend.model.ProviderOrderStatusCount;
+import com.thalir.backend.model.ProviderSalesDaily;
+import com.thalir.backend.model.ProviderSalesHourly;
+import com.thalir.backend.payload.response.ProductSalesResponse;
+
+/**
+ * Reads and increments for the sales rollup tables. Increments are single-statement
+ * upserts that add to the existing row, so they never read first. VALUES() is used
+ * rather than the MySQL 8.0.19 row alias so the statements also run on H2 in MySQL mode.
+ */
+@Repository
+public interface SalesRollupRepository extends JpaRepository<ProviderSalesDaily, ProviderSalesDaily.Key> {
+    @Modifying
+    @Query(value = "insert into provider_sales_daily "
+            + "(provider_id, sales_date, orders_placed, orders_cancelled, units_sold, revenue) "
+            + "values (:providerId, :salesDate, :placed, :cancelled, :units, :revenue) "
+            + "on duplicate key update orders_placed = orders_placed + values(orders_placed), "
+            + "orders_cancelled = orders_cancelled + values(orders_cancelled), "
+            + "units_sold = units_sold + values(units_sold), revenue = revenue + values(revenue)", nativeQuery = true)
+    int addDaily(@Param("providerId") Long providerId, @Param("salesDate") LocalDate salesDate,
+            @Param("placed") long placed, @Param("cancelled") long cancelled, @Param("units") long units,
+            @Param("revenue") BigDecimal revenue);
+
+    @Modifying
+    @Query(value = "insert into provider_sales_hourly "
+            + "(provider_id, sales_hour, orders_placed, orders_cancelled, units_sold, revenue) "
+            + "values (:providerId, :salesHour, :placed, :cancelled, :units, :revenue) "
+            + "on duplicate key update orders_placed = orders_placed + values(orders_placed), "
+            + "orders_cancelled = orders_cancelled + values(orders_cancelled), "
+            + "units_sold = units_sold + values(units_sold), revenue = revenue + values(revenue)", nativeQuery = true)
+    int addHourly(@Param("providerId") Long providerId, @Param("salesHour") LocalDateTime salesHour,
+            @Param("placed") long placed, @Param("cancelled") long cancelled, @Param("units") long units,
+            @Param("revenue") BigDecimal revenue);
+
+    @Modifying
+    @Query(value = "insert into product_sales_daily (provider_id, sales_date, product_id, units_sold, revenue) "
+            + "values (:providerId, :salesDate, :productId, :units, :revenue) "
+            + "on duplicate key update units_sold = units_sold + values(units_sold), "
+            + "revenue = revenue + values(revenue)", nativeQuery = true)
+    int addProductDaily(@Param("providerId") Long providerId, @Param("salesDate") LocalDate salesDate,
+            @Param("productId") Long productId, @Param("units") long units, @Param("revenue") BigDecimal revenue);
+
+    @Modifying
+    @Query(value = "insert into provider_order_status (provider_id, status, orders) "
+            + "values (:providerId, :status, :orders) "
+            + "on duplicate key update orders = orders + values(orders)", nativeQuery = true)
+    int addStatusCount(@Param("providerId") Long providerId, @Param("status") String status,
+            @Param("orders") long orders);
+
+    @Query("select d from ProviderSalesDaily d where d.providerId = :providerId "
+            + "and d.salesDate between :from and :to order by d.salesDate")
+    List<ProviderSalesDaily> findDaily(@Param("providerId") Long providerId, @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    @Query("select h from ProviderSalesHourly h where h.providerId = :providerId "
+            + "and h.salesHour >= :from and h.salesHour < :to order by h.salesHour")
+    List<ProviderSalesHourly> findHourly(@Param("providerId") Long providerId, @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    @Query("select s from ProviderOrderStatusCount s where s.providerId = :providerId")
+    List<ProviderOrderStatusCount> findStatusCounts(@Param("providerId") Long providerId);
+
+    @Query("select new com.thalir.backend.payload.response.ProductSalesResponse(r.productId, p.name, "
+            + "sum(r.unitsSold), sum(r.revenue)) "
+            + "from ProductSalesDaily r left join Product p on p.id = r.productId "
+            + "where r.providerId = :providerId and r.salesDate between :from and :to "
+            + "group by r.productId, p.name order by sum(r.revenue) desc")
+    List<ProductSalesResponse> findTopProducts(@Param("providerId") Long providerId, @Param("from") LocalDate from,
+            @Param("to") LocalDate to, Limit limit);
+}
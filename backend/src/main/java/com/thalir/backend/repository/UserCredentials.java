@@ -0,0 +1,19 @@
+package com.thalir.backend.repository;
+
+import com.thalir.backend.model.ERole;
+
+/**
+ * A user's sign-in fields with one of their roles; a user with several roles comes
+ * back as one row per role.
+ */
+public interface UserCredentials {
+    Long getId();
+
+    String getUsername();
+
+    String getEmail();
+
+    String getPassword();
+
+    ERole getRole();
+}
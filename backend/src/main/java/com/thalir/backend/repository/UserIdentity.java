@@ -0,0 +1,7 @@
+package com.thalir.backend.repository;
+
+public interface UserIdentity {
+    String getUsername();
+
+    String getEmail();
+}
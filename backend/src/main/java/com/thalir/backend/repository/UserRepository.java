@@ -1,8 +1,13 @@
 package com.thalir.backend.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.thalir.backend.model.User;
@@ -11,7 +16,30 @@ import com.thalir.backend.model.User;
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
 
+    // Authentication reads: the user and role names in one join, without loading entities
+    @Query("select u.id as id, u.username as username, u.email as email, u.password as password, "
+            + "r.name as role from User u left join u.roles r where u.username = :username")
+    List<UserCredentials> findCredentialsByUsername(@Param("username") String username);
+
     Boolean existsByUsername(String username);
 
     Boolean existsByEmail(String email);
+
+    // One round trip for callers that still want to check both names before inserting
+    List<UserIdentity> findByUsernameOrEmail(String username, String email);
+
+    @Query("select u.username as username, u.email as email from User u "
+            + "where u.username in :usernames or u.email in :emails")
+    List<UserIdentity> findIdentities(@Param("usernames") Collection<String> usernames,
+            @Param("emails") Collection<String> emails);
+
+    @Query("select u.id as id, u.tokenVersion as tokenVersion from User u where u.tokenVersion > 0")
+    List<UserTokenVersion> findRevokedTokenVersions();
+
+    @Query("select u.tokenVersion from User u where u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Query("update User u set u.tokenVersion = u.tokenVersion + 1 where u.id = :id")
+    int incrementTokenVersion(@Param("id") Long id);
 }
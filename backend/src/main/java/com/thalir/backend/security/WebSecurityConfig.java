@@ -1,8 +1,15 @@
 package com.thalir.backend.security;
 
+import jakarta.servlet.DispatcherType;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -13,9 +20,14 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
 
 import com.thalir.backend.security.jwt.AuthEntryPointJwt;
 import com.thalir.backend.security.jwt.AuthTokenFilter;
+import com.thalir.backend.security.ratelimit.AuthRateLimitFilter;
+import com.thalir.backend.security.services.AuthMetrics;
+import com.thalir.backend.security.services.BoundedPasswordEncoder;
+import com.thalir.backend.security.services.PasswordHashingExecutor;
 import com.thalir.backend.security.services.UserDetailsServiceImpl;
 
 @Configuration
@@ -27,11 +39,36 @@ public class WebSecurityConfig {
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
 
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Autowired
+    private AuthMetrics authMetrics;
+
+    @Value("${auth.hashing.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    // The port the management server actually bound, which differs from management.server.port when that is 0
+    private volatile int managementPort = -1;
+
+    // The management child context publishes its own event, which reaches this context too
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        if ("management".equals(event.getApplicationContext().getServerNamespace())) {
+            managementPort = event.getWebServer().getPort();
+        }
+    }
+
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         return new AuthTokenFilter();
     }
 
+    @Bean
+    public AuthRateLimitFilter authRateLimitFilter() {
+        return new AuthRateLimitFilter();
+    }
+
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
@@ -47,9 +84,17 @@ public class WebSecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
+    // Hashes on the bounded PasswordHashingExecutor pool; used by sign-in and signup
     @Bean
+    @Primary
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(bcryptPasswordEncoder(), passwordHashingExecutor, authMetrics);
+    }
+
+    // Hashes on the calling thread, for callers that already run on their own worker pool
+    @Bean
+    public PasswordEncoder bcryptPasswordEncoder() {
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
@@ -57,13 +102,22 @@ public class WebSecurityConfig {
         http.csrf(csrf -> csrf.disable())
                 .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .authorizeHttpRequests(auth -> auth.requestMatchers("/api/auth/**").permitAll()
+                // Async results are written on a second dispatch of a request that was already authorized
+                .authorizeHttpRequests(auth -> auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/test/**").permitAll()
+                        .requestMatchers(EndpointRequest.to("health")).permitAll()
+                        // Scraped without credentials only over the internal management port
+                        .requestMatchers(new AndRequestMatcher(EndpointRequest.to("prometheus"),
+                                request -> request.getLocalPort() == managementPort)).permitAll()
+                        .requestMatchers(EndpointRequest.toAnyEndpoint()).hasRole("ADMIN")
+                        .requestMatchers("/.well-known/jwks.json").permitAll()
                         .anyRequest().authenticated());
 
         http.authenticationProvider(authenticationProvider());
 
         http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
+        http.addFilterBefore(authRateLimitFilter(), AuthTokenFilter.class);
 
         return http.build();
     }
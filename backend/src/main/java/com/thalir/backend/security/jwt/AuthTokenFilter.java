@@ -10,6 +10,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,8 +18,11 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.thalir.backend.security.services.AuthMetrics;
 import com.thalir.backend.security.services.UserDetailsServiceImpl;
 
+import io.jsonwebtoken.Claims;
+
 public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtils jwtUtils;
@@ -26,17 +30,33 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private AuthMetrics authMetrics;
+
+    @Autowired
+    private SecurityEventLogger securityEvents;
+
+    @Value("${jwt.claims-authentication:true}")
+    private boolean claimsAuthentication;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        long started = System.nanoTime();
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
+            Claims claims = jwt != null ? jwtUtils.parseValidClaims(jwt) : null;
+            if (claims != null) {
+                String username = claims.getSubject();
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                // Tokens carry the user's id, email and roles, so the database is only
+                // consulted for older tokens or when claims authentication is switched off
+                UserDetails userDetails = claimsAuthentication ? jwtUtils.getUserDetailsFromClaims(claims) : null;
+                if (userDetails == null) {
+                    userDetails = userDetailsService.loadUserByUsername(username);
+                }
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -46,8 +66,11 @@ public class AuthTokenFilter extends OncePerRequestFilter {
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         } catch (Exception e) {
-            logger.error("Cannot set user authentication: {}", e);
+            securityEvents.record(SecurityEventLogger.Event.AUTHENTICATION_ERROR, request.getRequestURI(),
+                    e.toString());
+            logger.debug("Cannot set user authentication", e);
         }
+        authMetrics.recordFilter(System.nanoTime() - started);
 
         filterChain.doFilter(request, response);
     }
@@ -0,0 +1,420 @@
+package com.thalir.backend.security.jwt;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.SecureRandom;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.thalir.backend.model.JwtSigningKey;
+import com.thalir.backend.repository.JwtSigningKeyRepository;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+
+/**
+ * Signing and verification keys for JWTs. With jwt.signing-algorithm=HS256 tokens are
+ * signed with jwt.secret as before. With RS256 they are signed with an RSA key pair
+ * that is rotated every jwt.rsa.rotation-interval-ms and identified by the kid header;
+ * retired keys keep verifying tokens for the overlap window, and the public halves
+ * are published at /.well-known/jwks.json so other services can verify tokens
+ * offline. Each key is published there jwt.rsa.publish-ahead-ms before it starts
+ * signing, so verifiers that cache the JWKS already know it when its first token
+ * arrives. Key pairs are stored in jwt_signing_keys so all instances share them, with
+ * the private half encrypted under jwt.rsa.key-encryption-key, which is supplied from
+ * outside the database. Every key takes the next generation number, which is unique,
+ * so when several instances rotate at once only one of them creates the key. Public
+ * keys are parsed once and cached by kid.
+ *
+ * In RS256 mode HS256 tokens signed with jwt.secret are accepted only until
+ * jwt.hmac-accept-until, so a switch does not sign everyone out but the shared secret
+ * stops working at a known time.
+ */
+@Component
+public class JwtKeyManager extends SigningKeyResolverAdapter {
+    private static final Logger logger = LoggerFactory.getLogger(JwtKeyManager.class);
+
+    private static final String RS256 = "RS256";
+    private static final String HS256 = "HS256";
+
+    // How long verifiers may cache /.well-known/jwks.json
+    public static final Duration JWKS_MAX_AGE = Duration.ofMinutes(5);
+
+    private static final String ENCRYPTED_PREFIX = "v1:";
+    private static final int GCM_IV_BYTES = 12;
+    private static final int GCM_TAG_BITS = 128;
+
+    @Autowired
+    JwtSigningKeyRepository signingKeyRepository;
+
+    @Value("${jwt.signing-algorithm:HS256}")
+    private String signingAlgorithm;
+
+    @Value("${jwt.secret:}")
+    private String jwtSecret;
+
+    // ISO-8601 instant; empty means HS256 tokens are not accepted in RS256 mode
+    @Value("${jwt.hmac-accept-until:}")
+    private String hmacAcceptUntil;
+
+    // Base64 AES key (128, 192 or 256 bits), e.g. from an environment variable or secret store
+    @Value("${jwt.rsa.key-encryption-key:}")
+    private String keyEncryptionKey;
+
+    @Value("${jwt.rsa.key-size:2048}")
+    private int rsaKeySize;
+
+    @Value("${jwt.rsa.rotation-interval-ms:604800000}")
+    private long rotationIntervalMs;
+
+    // Long enough for refresh tokens signed just before a rotation to be exchanged
+    @Value("${jwt.rsa.overlap-ms:${jwt.refresh-expiration:604800000}}")
+    private long overlapMs;
+
+    // At least JWKS_MAX_AGE plus jwt.rsa.check-interval-ms, so every cached JWKS has the key before it signs
+    @Value("${jwt.rsa.publish-ahead-ms:900000}")
+    private long publishAheadMs;
+
+    private boolean rsa;
+
+    private SecretKey hmacKey;
+
+    // Null in HS256 mode, where jwt.secret is the signing key and never expires
+    private Instant hmacDeadline;
+
+    private SecretKey privateKeyEncryptionKey;
+
+    private final SecureRandom random = new SecureRandom();
+
+    // Newest activation first; includes keys published ahead of their activation
+    private volatile List<SigningKey> signingKeys = List.of();
+
+    private final ConcurrentMap<String, VerificationKey> verificationKeys = new ConcurrentHashMap<>();
+
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    private final AtomicLong lastUnknownKidSync = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        if (StringUtils.hasText(jwtSecret)) {
+            hmacKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        }
+
+        if (RS256.equalsIgnoreCase(signingAlgorithm)) {
+            rsa = true;
+            initRsa();
+            refreshKeys();
+        } else if (HS256.equalsIgnoreCase(signingAlgorithm)) {
+            if (hmacKey == null) {
+                throw new IllegalStateException("jwt.secret is required when jwt.signing-algorithm is HS256");
+            }
+        } else {
+            throw new IllegalStateException("Unsupported jwt.signing-algorithm " + signingAlgorithm
+                    + "; use HS256 or RS256");
+        }
+    }
+
+    private void initRsa() {
+        if (!StringUtils.hasText(keyEncryptionKey)) {
+            throw new IllegalStateException(
+                    "jwt.rsa.key-encryption-key is required when jwt.signing-algorithm is RS256");
+        }
+        byte[] encryptionKey = Base64.getDecoder().decode(keyEncryptionKey);
+        if (encryptionKey.length != 16 && encryptionKey.length != 24 && encryptionKey.length != 32) {
+            throw new IllegalStateException("jwt.rsa.key-encryption-key must be a base64 AES-128, -192 or -256 key");
+        }
+        privateKeyEncryptionKey = new SecretKeySpec(encryptionKey, "AES");
+
+        if (publishAheadMs >= rotationIntervalMs) {
+            throw new IllegalStateException(
+                    "jwt.rsa.publish-ahead-ms must be shorter than jwt.rsa.rotation-interval-ms");
+        }
+        if (publishAheadMs < JWKS_MAX_AGE.toMillis()) {
+            logger.warn("jwt.rsa.publish-ahead-ms is shorter than the {} JWKS cache lifetime; verifiers may reject "
+                    + "tokens signed just after a rotation", JWKS_MAX_AGE);
+        }
+
+        if (hmacKey != null) {
+            if (StringUtils.hasText(hmacAcceptUntil)) {
+                hmacDeadline = Instant.parse(hmacAcceptUntil);
+                logger.info("Accepting HS256 tokens signed with jwt.secret until {}", hmacDeadline);
+            } else {
+                logger.warn("jwt.secret is ignored in RS256 mode; set jwt.hmac-accept-until to accept HS256 "
+                        + "tokens during a migration");
+                hmacKey = null;
+            }
+        }
+    }
+
+    public JwtBuilder sign(JwtBuilder builder) {
+        if (!rsa) {
+            return builder.signWith(hmacKey, SignatureAlgorithm.HS256);
+        }
+        SigningKey key = signingKey(Instant.now());
+        if (key == null) {
+            throw new IllegalStateException("No JWT signing key is active yet");
+        }
+        return builder.setHeaderParam(JwsHeader.KEY_ID, key.kid)
+                .signWith(key.privateKey, SignatureAlgorithm.RS256);
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            if (hmacKey == null || !HS256.equals(header.getAlgorithm())) {
+                throw new UnsupportedJwtException("Token has no key id");
+            }
+            if (hmacDeadline != null && hmacDeadline.isBefore(Instant.now())) {
+                throw new UnsupportedJwtException("HS256 tokens are no longer accepted");
+            }
+            return hmacKey;
+        }
+        if (!RS256.equals(header.getAlgorithm())) {
+            throw new UnsupportedJwtException("Unexpected algorithm " + header.getAlgorithm() + " for key " + kid);
+        }
+
+        VerificationKey key = verificationKeys.get(kid);
+        if (key == null && rsa) {
+            // Another instance may have rotated since the last sync; reload at most once a second
+            long now = System.nanoTime();
+            long last = lastUnknownKidSync.get();
+            if (now - last > TimeUnit.SECONDS.toNanos(1) && lastUnknownKidSync.compareAndSet(last, now)) {
+                sync();
+                key = verificationKeys.get(kid);
+            }
+        }
+        if (key == null || key.retiresAt.isBefore(Instant.now())) {
+            throw new SignatureException("Unknown or retired signing key " + kid);
+        }
+        return key.publicKey;
+    }
+
+    /**
+     * Public keys that currently verify tokens, or will once they activate, as JWKs.
+     */
+    public List<Map<String, Object>> publicJwks() {
+        List<Map<String, Object>> keys = new ArrayList<>(verificationKeys.size());
+        Instant now = Instant.now();
+        for (VerificationKey key : verificationKeys.values()) {
+            if (key.retiresAt.isAfter(now)) {
+                keys.add(key.jwk);
+            }
+        }
+        return keys;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.rsa.check-interval-ms:60000}")
+    public void refreshKeys() {
+        if (!rsa) {
+            return;
+        }
+        sync();
+
+        Instant now = Instant.now();
+        if (signingKey(now) == null) {
+            // First start, or every key has retired: nothing can sign, so the new key cannot wait
+            rotate(now, now);
+        } else {
+            SigningKey newest = newestGeneration();
+            Instant due = newest.activatesAt.plusMillis(rotationIntervalMs);
+            if (!newest.activatesAt.isAfter(now) && !due.minusMillis(publishAheadMs).isAfter(now)) {
+                Instant publishedUntil = now.plusMillis(publishAheadMs);
+                rotate(now, due.isAfter(publishedUntil) ? due : publishedUntil);
+            }
+        }
+
+        verificationKeys.values().removeIf(verificationKey -> verificationKey.retiresAt.isBefore(now));
+        signingKeys = signingKeys.stream().filter(key -> !key.retiresAt.isBefore(now)).toList();
+        signingKeyRepository.deleteRetired(now);
+    }
+
+    private void rotate(Instant now, Instant activatesAt) {
+        Long newest = signingKeyRepository.findMaxGeneration();
+        long generation = newest == null ? 1 : newest + 1;
+        String kid = UUID.randomUUID().toString();
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(rsaKeySize);
+            KeyPair pair = generator.generateKeyPair();
+
+            Base64.Encoder encoder = Base64.getEncoder();
+            signingKeyRepository.save(new JwtSigningKey(kid, RS256,
+                    encoder.encodeToString(pair.getPublic().getEncoded()),
+                    encrypt(pair.getPrivate().getEncoded()),
+                    now,
+                    activatesAt,
+                    activatesAt.plusMillis(rotationIntervalMs + overlapMs),
+                    generation));
+            logger.info("Published JWT signing key {}; it signs from {}", kid, activatesAt);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot generate RSA signing key", e);
+        } catch (DataIntegrityViolationException e) {
+            logger.info("Another instance created JWT signing key generation {}", generation);
+        }
+        sync();
+    }
+
+    // Newest key whose activation has passed
+    private SigningKey signingKey(Instant now) {
+        for (SigningKey key : signingKeys) {
+            if (!key.activatesAt.isAfter(now)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private SigningKey newestGeneration() {
+        return signingKeys.stream().max(Comparator.comparingLong(key -> key.generation)).orElseThrow();
+    }
+
+    // Reads every live key, not just ids past the last one seen: a key row can commit after
+    // one with a higher id. There are only a few live keys, and known kids are skipped.
+    private void sync() {
+        syncLock.lock();
+        try {
+            List<SigningKey> loaded = new ArrayList<>(signingKeys);
+            for (JwtSigningKey row : signingKeyRepository.findByRetiresAtAfterOrderByIdAsc(Instant.now())) {
+                if (verificationKeys.containsKey(row.getKid())) {
+                    continue;
+                }
+                try {
+                    KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+                    RSAPublicKey publicKey = (RSAPublicKey) keyFactory
+                            .generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(row.getPublicKey())));
+                    PrivateKey privateKey = keyFactory
+                            .generatePrivate(new PKCS8EncodedKeySpec(decrypt(row.getPrivateKey())));
+                    loaded.add(new SigningKey(row.getKid(), privateKey, row.getActivatesAt(), row.getRetiresAt(),
+                            row.getGeneration()));
+                    verificationKeys.put(row.getKid(), new VerificationKey(row.getKid(), publicKey, row.getRetiresAt()));
+                } catch (GeneralSecurityException | IllegalArgumentException e) {
+                    logger.error("Skipping unreadable JWT signing key {}", row.getKid(), e);
+                }
+            }
+            loaded.sort(Comparator.comparing((SigningKey key) -> key.activatesAt)
+                    .thenComparingLong(key -> key.generation).reversed());
+            signingKeys = List.copyOf(loaded);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    // AES-GCM with a random IV per key; stored as v1:base64(iv || ciphertext)
+    private String encrypt(byte[] privateKey) throws GeneralSecurityException {
+        byte[] iv = new byte[GCM_IV_BYTES];
+        random.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, privateKeyEncryptionKey, new GCMParameterSpec(GCM_TAG_BITS, iv));
+        byte[] ciphertext = cipher.doFinal(privateKey);
+
+        byte[] stored = Arrays.copyOf(iv, iv.length + ciphertext.length);
+        System.arraycopy(ciphertext, 0, stored, iv.length, ciphertext.length);
+        return ENCRYPTED_PREFIX + Base64.getEncoder().encodeToString(stored);
+    }
+
+    private byte[] decrypt(String stored) throws GeneralSecurityException {
+        if (!stored.startsWith(ENCRYPTED_PREFIX)) {
+            // Written before encryption was added; readable until the key retires
+            logger.warn("JWT signing key is stored unencrypted; keys rotated from now on are encrypted");
+            return Base64.getDecoder().decode(stored);
+        }
+        byte[] bytes = Base64.getDecoder().decode(stored.substring(ENCRYPTED_PREFIX.length()));
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, privateKeyEncryptionKey,
+                new GCMParameterSpec(GCM_TAG_BITS, bytes, 0, GCM_IV_BYTES));
+        return cipher.doFinal(bytes, GCM_IV_BYTES, bytes.length - GCM_IV_BYTES);
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        // Drop the sign byte; JWK integers are unsigned big-endian
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static final class SigningKey {
+        private final String kid;
+        private final PrivateKey privateKey;
+        private final Instant activatesAt;
+        private final Instant retiresAt;
+        private final long generation;
+
+        private SigningKey(String kid, PrivateKey privateKey, Instant activatesAt, Instant retiresAt,
+                long generation) {
+            this.kid = kid;
+            this.privateKey = privateKey;
+            this.activatesAt = activatesAt;
+            this.retiresAt = retiresAt;
+            this.generation = generation;
+        }
+    }
+
+    private static final class VerificationKey {
+        private final RSAPublicKey publicKey;
+        private final Instant retiresAt;
+        private final Map<String, Object> jwk;
+
+        private VerificationKey(String kid, RSAPublicKey publicKey, Instant retiresAt) {
+            this.publicKey = publicKey;
+            this.retiresAt = retiresAt;
+
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "RSA");
+            jwk.put("use", "sig");
+            jwk.put("alg", RS256);
+            jwk.put("kid", kid);
+            jwk.put("n", base64Url(publicKey.getModulus()));
+            jwk.put("e", base64Url(publicKey.getPublicExponent()));
+            this.jwk = Collections.unmodifiableMap(jwk);
+        }
+    }
+}
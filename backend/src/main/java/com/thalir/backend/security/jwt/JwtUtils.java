@@ -1,65 +1,200 @@
 package com.thalir.backend.security.jwt;
 
-import java.security.Key;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import com.thalir.backend.security.jwt.SecurityEventLogger.Event;
+import com.thalir.backend.security.services.AuthMetrics;
+import com.thalir.backend.security.services.AuthMetrics.Rejection;
+import com.thalir.backend.security.services.RevokedTokenStore;
+import com.thalir.backend.security.services.RoleAuthorities;
+import com.thalir.backend.security.services.TokenVersionService;
 import com.thalir.backend.security.services.UserDetailsImpl;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
 
 @Component
 public class JwtUtils {
-    private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
+    private static final String CLAIM_USER_ID = "id";
+    private static final String CLAIM_EMAIL = "email";
+    private static final String CLAIM_ROLES = "roles";
+    private static final String CLAIM_TOKEN_VERSION = "ver";
+    private static final String CLAIM_TOKEN_TYPE = "typ";
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private static final String TYPE_ACCESS = "access";
+    private static final String TYPE_REFRESH = "refresh";
 
     @Value("${jwt.expiration}")
     private int jwtExpirationMs;
 
+    @Value("${jwt.refresh-expiration:604800000}")
+    private long jwtRefreshExpirationMs;
+
+    @Autowired
+    private JwtKeyManager keyManager;
+
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
+    @Autowired
+    private AuthMetrics authMetrics;
+
+    @Autowired
+    private SecurityEventLogger securityEvents;
+
+    @Autowired
+    private RevokedTokenStore revokedTokenStore;
+
+    // Built once; the parser is immutable and safe to share between request threads
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    public void init() {
+        jwtParser = Jwts.parserBuilder().setSigningKeyResolver(keyManager).build();
+    }
+
     public String generateJwtToken(Authentication authentication) {
+        return generateJwtToken((UserDetailsImpl) authentication.getPrincipal());
+    }
 
-        UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
+    public String generateJwtToken(UserDetailsImpl userPrincipal) {
+        long started = System.nanoTime();
+        List<String> roles = new ArrayList<>(userPrincipal.getAuthorities().size());
+        for (GrantedAuthority authority : userPrincipal.getAuthorities()) {
+            roles.add(authority.getAuthority());
+        }
 
-        return Jwts.builder()
+        Date now = new Date();
+        JwtBuilder builder = Jwts.builder()
                 .setSubject((userPrincipal.getUsername()))
-                .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key(), SignatureAlgorithm.HS256)
-                .compact();
+                .setId(UUID.randomUUID().toString())
+                .claim(CLAIM_TOKEN_TYPE, TYPE_ACCESS)
+                .claim(CLAIM_USER_ID, userPrincipal.getId())
+                .claim(CLAIM_EMAIL, userPrincipal.getEmail())
+                .claim(CLAIM_ROLES, roles)
+                .claim(CLAIM_TOKEN_VERSION, tokenVersionService.currentVersion(userPrincipal.getId()))
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + jwtExpirationMs));
+        String token = keyManager.sign(builder).compact();
+
+        authMetrics.recordJwtGenerate(System.nanoTime() - started);
+        return token;
     }
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+    // Refresh tokens only identify the user; roles are reloaded when they are exchanged
+    public String generateRefreshToken(UserDetailsImpl userPrincipal) {
+        Date now = new Date();
+        JwtBuilder builder = Jwts.builder()
+                .setSubject((userPrincipal.getUsername()))
+                .setId(UUID.randomUUID().toString())
+                .claim(CLAIM_TOKEN_TYPE, TYPE_REFRESH)
+                .claim(CLAIM_USER_ID, userPrincipal.getId())
+                .claim(CLAIM_TOKEN_VERSION, tokenVersionService.currentVersion(userPrincipal.getId()))
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + jwtRefreshExpirationMs));
+        return keyManager.sign(builder).compact();
     }
 
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key()).build()
-                .parseClaimsJws(token).getBody().getSubject();
+        return jwtParser.parseClaimsJws(token).getBody().getSubject();
     }
 
     public boolean validateJwtToken(String authToken) {
+        return parseValidClaims(authToken) != null;
+    }
+
+    /**
+     * Verifies an access token and returns its claims in a single parse, or null if
+     * the token is not valid, has been revoked or is a refresh token.
+     */
+    public Claims parseValidClaims(String authToken) {
+        Claims claims = parse(authToken, TYPE_ACCESS);
+        if (claims != null && revokedTokenStore.isRevoked(claims.getId(), claims.getExpiration())) {
+            reject(Rejection.REVOKED, Event.TOKEN_REVOKED, "token has been signed out");
+            return null;
+        }
+        return claims;
+    }
+
+    /**
+     * Verifies a refresh token. Whether it has already been used is left to the
+     * caller, which treats reuse differently from an invalid token.
+     */
+    public Claims parseValidRefreshClaims(String refreshToken) {
+        return parse(refreshToken, TYPE_REFRESH);
+    }
+
+    private Claims parse(String token, String expectedType) {
+        long started = System.nanoTime();
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parse(authToken);
-            return true;
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            // Tokens issued before refresh tokens existed carry no type and are access tokens
+            String type = claims.get(CLAIM_TOKEN_TYPE, String.class);
+            if (!expectedType.equals(type != null ? type : TYPE_ACCESS)) {
+                reject(Rejection.UNSUPPORTED, Event.TOKEN_UNSUPPORTED, "expected " + expectedType + " token");
+                return null;
+            }
+            Long userId = claims.get(CLAIM_USER_ID, Long.class);
+            Integer tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Integer.class);
+            if (userId != null && !tokenVersionService.isCurrent(userId, tokenVersion != null ? tokenVersion : 0)) {
+                reject(Rejection.REVOKED, Event.TOKEN_REVOKED, "token version is outdated");
+                return null;
+            }
+            return claims;
         } catch (MalformedJwtException e) {
-            logger.error("Invalid JWT token: {}", e.getMessage());
+            reject(Rejection.MALFORMED, Event.TOKEN_MALFORMED, e.getMessage());
         } catch (ExpiredJwtException e) {
-            logger.error("JWT token is expired: {}", e.getMessage());
+            reject(Rejection.EXPIRED, Event.TOKEN_EXPIRED, e.getMessage());
         } catch (UnsupportedJwtException e) {
-            logger.error("JWT token is unsupported: {}", e.getMessage());
+            reject(Rejection.UNSUPPORTED, Event.TOKEN_UNSUPPORTED, e.getMessage());
+        } catch (SignatureException e) {
+            reject(Rejection.BAD_SIGNATURE, Event.TOKEN_BAD_SIGNATURE, e.getMessage());
         } catch (IllegalArgumentException e) {
-            logger.error("JWT claims string is empty: {}", e.getMessage());
+            reject(Rejection.EMPTY, Event.TOKEN_EMPTY, e.getMessage());
+        } finally {
+            authMetrics.recordJwtValidate(System.nanoTime() - started);
+        }
+
+        return null;
+    }
+
+    private void reject(Rejection rejection, Event event, String detail) {
+        authMetrics.rejected(rejection);
+        securityEvents.record(event, null, detail);
+    }
+
+    public Long getUserIdFromClaims(Claims claims) {
+        return claims.get(CLAIM_USER_ID, Long.class);
+    }
+
+    /**
+     * Rebuilds the principal from a verified token without touching the database.
+     * Returns null for tokens issued before the user claims were added.
+     */
+    public UserDetailsImpl getUserDetailsFromClaims(Claims claims) {
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        Collection<?> roles = claims.get(CLAIM_ROLES, Collection.class);
+        if (userId == null || roles == null) {
+            return null;
         }
 
-        return false;
+        return new UserDetailsImpl(
+                userId,
+                claims.getSubject(),
+                claims.get(CLAIM_EMAIL, String.class),
+                null,
+                RoleAuthorities.forNames(roles));
     }
 }
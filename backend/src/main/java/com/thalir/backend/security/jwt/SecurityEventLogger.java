@@ -0,0 +1,80 @@
+package com.thalir.backend.security.jwt;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rate-limited logging for rejected tokens and unauthorized requests. Every event is
+ * counted, but only the first few per reason and interval are written out; the rest
+ * are reported in a periodic summary line per reason. A client polling with an
+ * expired token or a scanner therefore costs a counter increment, not a log write.
+ */
+@Component
+public class SecurityEventLogger {
+    private static final Logger logger = LoggerFactory.getLogger(SecurityEventLogger.class);
+
+    public enum Event {
+        TOKEN_EXPIRED("token_expired"),
+        TOKEN_MALFORMED("token_malformed"),
+        TOKEN_UNSUPPORTED("token_unsupported"),
+        TOKEN_BAD_SIGNATURE("token_bad_signature"),
+        TOKEN_EMPTY("token_empty"),
+        TOKEN_REVOKED("token_revoked"),
+        UNAUTHORIZED("unauthorized"),
+        AUTHENTICATION_ERROR("authentication_error");
+
+        private final String tag;
+
+        Event(String tag) {
+            this.tag = tag;
+        }
+
+        public String tag() {
+            return tag;
+        }
+    }
+
+    @Value("${security.log.samples-per-interval:5}")
+    private int samplesPerInterval;
+
+    @Value("${security.log.summary-interval-ms:60000}")
+    private long summaryIntervalMs;
+
+    private final Map<Event, LongAdder> counts = new EnumMap<>(Event.class);
+    private final Map<Event, AtomicInteger> sampled = new EnumMap<>(Event.class);
+
+    public SecurityEventLogger() {
+        for (Event event : Event.values()) {
+            counts.put(event, new LongAdder());
+            sampled.put(event, new AtomicInteger());
+        }
+    }
+
+    public void record(Event event, String path, String detail) {
+        counts.get(event).increment();
+        if (sampled.get(event).getAndIncrement() < samplesPerInterval) {
+            logger.warn("security_event reason={} path={} detail={}", event.tag(), path, detail);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${security.log.summary-interval-ms:60000}",
+            initialDelayString = "${security.log.summary-interval-ms:60000}")
+    public void logSummary() {
+        for (Event event : Event.values()) {
+            long count = counts.get(event).sumThenReset();
+            int logged = Math.min(sampled.get(event).getAndSet(0), samplesPerInterval);
+            if (count > 0) {
+                logger.info("security_event_summary reason={} count={} logged={} suppressed={} interval_ms={}",
+                        event.tag(), count, logged, Math.max(0, count - logged), summaryIntervalMs);
+            }
+        }
+    }
+}
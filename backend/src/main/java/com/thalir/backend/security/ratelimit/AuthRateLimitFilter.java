@@ -0,0 +1,175 @@
+package com.thalir.backend.security.ratelimit;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thalir.backend.payload.response.MessageResponse;
+import com.thalir.backend.security.services.AuthMetrics;
+import com.thalir.backend.security.services.AuthMetrics.Throttle;
+
+/**
+ * Throttles /api/auth requests per client address and, for sign-in and signup, per
+ * username before any password hashing or database work is done. A request has to
+ * pass both limits; otherwise it gets 429 with a Retry-After header.
+ */
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+    // Matched on the decoded servlet path, as the handler mapping sees it; the raw URI may be percent-encoded
+    private static final RequestMatcher AUTH = new AntPathRequestMatcher("/api/auth/**");
+
+    private static final RequestMatcher CREDENTIALS = new OrRequestMatcher(
+            new AntPathRequestMatcher("/api/auth/signin", HttpMethod.POST.name()),
+            new AntPathRequestMatcher("/api/auth/signup", HttpMethod.POST.name()));
+
+    @Autowired
+    private AuthMetrics authMetrics;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${auth.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${auth.rate-limit.ip.capacity:20}")
+    private int ipCapacity;
+
+    @Value("${auth.rate-limit.ip.refill-per-second:5}")
+    private double ipRefillPerSecond;
+
+    @Value("${auth.rate-limit.username.capacity:5}")
+    private int usernameCapacity;
+
+    @Value("${auth.rate-limit.username.refill-per-second:0.2}")
+    private double usernameRefillPerSecond;
+
+    @Value("${auth.rate-limit.max-keys:100000}")
+    private int maxKeys;
+
+    @Value("${auth.rate-limit.max-body-bytes:16384}")
+    private int maxBodyBytes;
+
+    private RateLimiter ipLimiter;
+
+    private RateLimiter usernameLimiter;
+
+    @PostConstruct
+    public void init() {
+        ipLimiter = new RateLimiter(ipCapacity, ipRefillPerSecond, maxKeys);
+        usernameLimiter = new RateLimiter(usernameCapacity, usernameRefillPerSecond, maxKeys);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !AUTH.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // Behind a proxy, set server.forward-headers-strategy so this is the client address
+        long wait = ipLimiter.tryAcquire(request.getRemoteAddr());
+        if (wait > 0) {
+            authMetrics.throttled(Throttle.IP);
+            reject(response, wait);
+            return;
+        }
+
+        if (CREDENTIALS.matches(request)) {
+            // Credential bodies are tiny; refuse large ones before reading them into memory
+            if (request.getContentLengthLong() > maxBodyBytes) {
+                rejectTooLarge(response);
+                return;
+            }
+            CachedBodyRequest cached = new CachedBodyRequest(request, maxBodyBytes);
+            if (cached.isTooLarge()) {
+                rejectTooLarge(response);
+                return;
+            }
+            String username = usernameOf(cached.getBody());
+            if (username != null) {
+                wait = usernameLimiter.tryAcquire(username);
+                if (wait > 0) {
+                    authMetrics.throttled(Throttle.USERNAME);
+                    reject(response, wait);
+                    return;
+                }
+            }
+            request = cached;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private String usernameOf(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode username = objectMapper.readTree(body).get("username");
+            return username != null && username.isTextual()
+                    ? username.asText().trim().toLowerCase(Locale.ROOT)
+                    : null;
+        } catch (IOException e) {
+            // Malformed bodies are rejected by the controller; the address limit still applies
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        long retryAfterSeconds = Math.max(1, (waitNanos + second - 1) / second);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new MessageResponse("Error: Too many requests, please try again shortly"));
+    }
+
+    private void rejectTooLarge(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new MessageResponse("Error: Request body is too large"));
+    }
+
+    @Scheduled(fixedDelayString = "${auth.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        ipLimiter.evictIdle();
+        usernameLimiter.evictIdle();
+    }
+
+    public int getTrackedAddresses() {
+        return ipLimiter.size();
+    }
+
+    public int getTrackedUsernames() {
+        return usernameLimiter.size();
+    }
+
+    public long getUntrackedAddresses() {
+        return ipLimiter.getUntrackedCount();
+    }
+
+    public long getUntrackedUsernames() {
+        return usernameLimiter.getUntrackedCount();
+    }
+}
@@ -0,0 +1,96 @@
+package com.thalir.backend.security.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per key, implemented as the generic cell rate algorithm: each key
+ * holds only the time at which its bucket will be full again, updated with a CAS, so
+ * no lock is taken on the request path. A key whose bucket has refilled is the same
+ * as an absent key, which lets idle keys be dropped at any time. The number of keys
+ * is bounded. When it is reached and no idle key can be dropped, new keys are let
+ * through untracked: a shared bucket for them would let anyone who floods the map
+ * with made-up keys lock out every other new key.
+ */
+public class RateLimiter {
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final int maxKeys;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets;
+
+    private final AtomicLong lastEviction = new AtomicLong(System.nanoTime());
+
+    private final AtomicLong untracked = new AtomicLong();
+
+    public RateLimiter(int capacity, double refillPerSecond, int maxKeys) {
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond);
+        this.burstNanos = emissionIntervalNanos * capacity;
+        this.maxKeys = maxKeys;
+        this.buckets = new ConcurrentHashMap<>(Math.min(maxKeys, 1024));
+    }
+
+    /**
+     * Takes a token for the key. Returns 0 if the request may proceed, otherwise the
+     * number of nanoseconds until the next token is available.
+     */
+    public long tryAcquire(String key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    long tryAcquire(String key, long now) {
+        AtomicLong bucket = bucket(key, now);
+        if (bucket == null) {
+            untracked.incrementAndGet();
+            return 0;
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now) + emissionIntervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Null when the key is new and there is no room for it
+    private AtomicLong bucket(String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            // Sweep at most once a second, so a flood of new keys does not rescan the map per request
+            long last = lastEviction.get();
+            if (now - last > TimeUnit.SECONDS.toNanos(1) && lastEviction.compareAndSet(last, now)) {
+                evictIdle(now);
+            }
+            if (buckets.size() >= maxKeys) {
+                return null;
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    public void evictIdle() {
+        evictIdle(System.nanoTime());
+    }
+
+    private void evictIdle(long now) {
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    // Requests let through because their key could not be tracked
+    public long getUntrackedCount() {
+        return untracked.get();
+    }
+}
@@ -0,0 +1,123 @@
+package com.thalir.backend.security.services;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Timers and counters for the authentication hot path. Meters are registered once
+ * so recording does not look them up per request.
+ */
+@Component
+public class AuthMetrics {
+    public enum Rejection {
+        EXPIRED("expired"),
+        MALFORMED("malformed"),
+        UNSUPPORTED("unsupported"),
+        BAD_SIGNATURE("bad_signature"),
+        EMPTY("empty"),
+        REVOKED("revoked");
+
+        private final String tag;
+
+        Rejection(String tag) {
+            this.tag = tag;
+        }
+
+        public String tag() {
+            return tag;
+        }
+    }
+
+    public enum Throttle {
+        IP("ip"),
+        USERNAME("username");
+
+        private final String tag;
+
+        Throttle(String tag) {
+            this.tag = tag;
+        }
+
+        public String tag() {
+            return tag;
+        }
+    }
+
+    private final Timer filter;
+    private final Timer jwtValidate;
+    private final Timer jwtGenerate;
+    private final Timer userLookup;
+    private final Timer passwordMatch;
+    private final Timer passwordEncode;
+    private final Map<Rejection, Counter> rejections = new EnumMap<>(Rejection.class);
+    private final Map<Throttle, Counter> throttles = new EnumMap<>(Throttle.class);
+
+    public AuthMetrics(MeterRegistry registry) {
+        filter = timer(registry, "auth.filter", "Time spent authenticating a request in AuthTokenFilter");
+        jwtValidate = timer(registry, "auth.jwt.validate", "JWT signature and claims verification");
+        jwtGenerate = timer(registry, "auth.jwt.generate", "JWT creation at sign-in");
+        userLookup = timer(registry, "auth.user.lookup", "UserDetailsServiceImpl.loadUserByUsername");
+        passwordMatch = timer(registry, "auth.password.match", "BCrypt password check, including queue wait");
+        passwordEncode = timer(registry, "auth.password.encode", "BCrypt password hash, including queue wait");
+
+        for (Rejection rejection : Rejection.values()) {
+            rejections.put(rejection, Counter.builder("auth.jwt.rejected")
+                    .description("Bearer tokens rejected by reason")
+                    .tag("reason", rejection.tag())
+                    .register(registry));
+        }
+        for (Throttle throttle : Throttle.values()) {
+            throttles.put(throttle, Counter.builder("auth.ratelimit.throttled")
+                    .description("Requests to /api/auth rejected with 429 by the limit that was exceeded")
+                    .tag("key", throttle.tag())
+                    .register(registry));
+        }
+    }
+
+    private static Timer timer(MeterRegistry registry, String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public void recordFilter(long nanos) {
+        filter.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordJwtValidate(long nanos) {
+        jwtValidate.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordJwtGenerate(long nanos) {
+        jwtGenerate.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordUserLookup(long nanos) {
+        userLookup.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPasswordMatch(long nanos) {
+        passwordMatch.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPasswordEncode(long nanos) {
+        passwordEncode.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void rejected(Rejection rejection) {
+        rejections.get(rejection).increment();
+    }
+
+    public void throttled(Throttle throttle) {
+        throttles.get(throttle).increment();
+    }
+}
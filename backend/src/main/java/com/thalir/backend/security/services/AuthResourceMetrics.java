@@ -0,0 +1,70 @@
+package com.thalir.backend.security.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.thalir.backend.security.ratelimit.AuthRateLimitFilter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Exposes the user details cache, the password hashing pool and the auth rate
+ * limiter, which keep their own counters, as meters.
+ */
+@Component
+public class AuthResourceMetrics implements MeterBinder {
+    @Autowired
+    UserDetailsCache userCache;
+
+    @Autowired
+    PasswordHashingExecutor hashingExecutor;
+
+    @Autowired
+    AuthRateLimitFilter rateLimitFilter;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("auth.user.cache.requests", userCache, UserDetailsCache::getHitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("auth.user.cache.requests", userCache, UserDetailsCache::getMissCount)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("auth.user.cache.evictions", userCache, UserDetailsCache::getEvictionCount)
+                .register(registry);
+        Gauge.builder("auth.user.cache.size", userCache, UserDetailsCache::size)
+                .register(registry);
+        Gauge.builder("auth.user.cache.hit.ratio", userCache, cache -> {
+            long hits = cache.getHitCount();
+            long total = hits + cache.getMissCount();
+            return total == 0 ? 0 : (double) hits / total;
+        }).register(registry);
+
+        Gauge.builder("auth.hashing.queue.size", hashingExecutor, PasswordHashingExecutor::getQueueSize)
+                .register(registry);
+        Gauge.builder("auth.hashing.active", hashingExecutor, PasswordHashingExecutor::getActiveCount)
+                .register(registry);
+        FunctionCounter.builder("auth.hashing.rejected", hashingExecutor, PasswordHashingExecutor::getRejectedCount)
+                .register(registry);
+
+        Gauge.builder("auth.ratelimit.keys", rateLimitFilter, AuthRateLimitFilter::getTrackedAddresses)
+                .tag("key", "ip")
+                .register(registry);
+        Gauge.builder("auth.ratelimit.keys", rateLimitFilter, AuthRateLimitFilter::getTrackedUsernames)
+                .tag("key", "username")
+                .register(registry);
+        FunctionCounter.builder("auth.ratelimit.untracked", rateLimitFilter,
+                        AuthRateLimitFilter::getUntrackedAddresses)
+                .description("Requests let through because the limiter had no room to track their key")
+                .tag("key", "ip")
+                .register(registry);
+        FunctionCounter.builder("auth.ratelimit.untracked", rateLimitFilter,
+                        AuthRateLimitFilter::getUntrackedUsernames)
+                .description("Requests let through because the limiter had no room to track their key")
+                .tag("key", "username")
+                .register(registry);
+    }
+}
@@ -0,0 +1,52 @@
+package com.thalir.backend.security.services;
+
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Measures how long one hash takes at the configured BCrypt strength on this host
+ * and logs the strength closest to the latency target. Each strength step doubles
+ * the cost, so the suggestion is derived from a single measurement.
+ */
+@Component
+public class BCryptCalibration {
+    private static final Logger logger = LoggerFactory.getLogger(BCryptCalibration.class);
+
+    @Value("${auth.hashing.calibrate:true}")
+    private boolean calibrate;
+
+    @Value("${auth.hashing.bcrypt-strength:10}")
+    private int strength;
+
+    @Value("${auth.hashing.target-ms:100}")
+    private long targetMs;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void calibrate() {
+        if (!calibrate) {
+            return;
+        }
+
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        double[] samples = new double[5];
+        for (int i = 0; i < samples.length; i++) {
+            long started = System.nanoTime();
+            encoder.encode("calibration-password");
+            samples[i] = (System.nanoTime() - started) / 1e6;
+        }
+        Arrays.sort(samples);
+        double medianMs = samples[samples.length / 2];
+
+        int suggested = strength + (int) Math.round(Math.log(targetMs / medianMs) / Math.log(2));
+        suggested = Math.max(4, Math.min(31, suggested));
+        logger.info("BCrypt strength {} takes {} ms per hash on this host; strength {} is closest to the {} ms target",
+                strength, Math.round(medianMs), suggested, targetMs);
+    }
+}
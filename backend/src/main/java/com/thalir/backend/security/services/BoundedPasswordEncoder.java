@@ -0,0 +1,47 @@
+package com.thalir.backend.security.services;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Delegates to the wrapped encoder on the PasswordHashingExecutor pool instead of
+ * the calling request thread.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+    private final PasswordEncoder delegate;
+
+    private final PasswordHashingExecutor executor;
+
+    private final AuthMetrics authMetrics;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor executor,
+            AuthMetrics authMetrics) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.authMetrics = authMetrics;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        long started = System.nanoTime();
+        try {
+            return executor.execute(() -> delegate.encode(rawPassword));
+        } finally {
+            authMetrics.recordPasswordEncode(System.nanoTime() - started);
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long started = System.nanoTime();
+        try {
+            return executor.execute(() -> delegate.matches(rawPassword, encodedPassword));
+        } finally {
+            authMetrics.recordPasswordMatch(System.nanoTime() - started);
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
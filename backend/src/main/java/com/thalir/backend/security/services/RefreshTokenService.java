@@ -0,0 +1,71 @@
+package com.thalir.backend.security.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import com.thalir.backend.payload.response.TokenRefreshResponse;
+import com.thalir.backend.security.jwt.JwtUtils;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Exchanges refresh tokens for new token pairs. Every refresh token can be used once;
+ * presenting a rotated token again is treated as a leak and ends all of the user's
+ * sessions.
+ */
+@Service
+public class RefreshTokenService {
+    @Autowired
+    JwtUtils jwtUtils;
+
+    @Autowired
+    RevokedTokenStore revokedTokenStore;
+
+    @Autowired
+    TokenVersionService tokenVersionService;
+
+    @Autowired
+    UserDetailsServiceImpl userDetailsService;
+
+    public TokenRefreshResponse refresh(String refreshToken) {
+        Claims claims = jwtUtils.parseValidRefreshClaims(refreshToken);
+        if (claims == null) {
+            throw new TokenRefreshException("Refresh token is invalid or expired. Please sign in again.");
+        }
+
+        // Already rotated, here or concurrently elsewhere: assume the token leaked
+        if (revokedTokenStore.isRevoked(claims.getId(), claims.getExpiration())
+                || !revokedTokenStore.revoke(claims.getId(), claims.getExpiration().toInstant())) {
+            Long userId = jwtUtils.getUserIdFromClaims(claims);
+            if (userId != null) {
+                tokenVersionService.bump(userId);
+            }
+            throw new TokenRefreshException("Refresh token was already used. Please sign in again.");
+        }
+
+        UserDetailsImpl user;
+        try {
+            user = (UserDetailsImpl) userDetailsService.loadUserByUsername(claims.getSubject());
+        } catch (UsernameNotFoundException e) {
+            throw new TokenRefreshException("User no longer exists.");
+        }
+
+        return new TokenRefreshResponse(jwtUtils.generateJwtToken(user), jwtUtils.generateRefreshToken(user));
+    }
+
+    public void signOut(String accessToken, String refreshToken) {
+        if (refreshToken != null) {
+            Claims claims = jwtUtils.parseValidRefreshClaims(refreshToken);
+            if (claims != null) {
+                revokedTokenStore.revoke(claims.getId(), claims.getExpiration().toInstant());
+            }
+        }
+        if (accessToken != null) {
+            Claims claims = jwtUtils.parseValidClaims(accessToken);
+            if (claims != null) {
+                revokedTokenStore.revoke(claims.getId(), claims.getExpiration().toInstant());
+            }
+        }
+    }
+}
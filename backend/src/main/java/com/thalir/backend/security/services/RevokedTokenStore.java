@@ -0,0 +1,193 @@
+package com.thalir.backend.security.services;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.thalir.backend.model.RevokedToken;
+import com.thalir.backend.repository.RevokedTokenRepository;
+
+/**
+ * In-memory set of revoked token ids, so access-token checks never reach the
+ * database. Ids are kept as 64-bit hashes in primitive open-addressing tables,
+ * bucketed by the token's expiry time: once a bucket's tokens have all expired the
+ * whole bucket is dropped. The revoked_tokens table is the persisted log; it is
+ * replayed at startup and polled for revocations made by other instances.
+ */
+@Component
+public class RevokedTokenStore {
+    private static final Logger logger = LoggerFactory.getLogger(RevokedTokenStore.class);
+
+    @Autowired
+    RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${jwt.revocation.bucket-minutes:60}")
+    private long bucketMinutes;
+
+    @Value("${jwt.revocation.sync-overlap-rows:1000}")
+    private long syncOverlapRows;
+
+    private final ConcurrentMap<Long, LongSet> buckets = new ConcurrentHashMap<>();
+
+    private volatile long lastSyncedId;
+
+    @PostConstruct
+    public void load() {
+        sync();
+        logger.info("Loaded revoked tokens into {} expiry buckets", buckets.size());
+    }
+
+    public boolean isRevoked(String jti, Date expiresAt) {
+        if (jti == null || expiresAt == null) {
+            return false;
+        }
+        LongSet bucket = buckets.get(bucketOf(expiresAt.getTime()));
+        return bucket != null && bucket.contains(hash(jti));
+    }
+
+    /**
+     * Revokes the token and records it in the persisted log. Returns false if the
+     * token had already been revoked, here or by another instance.
+     */
+    public boolean revoke(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt.isBefore(Instant.now())) {
+            return true;
+        }
+        try {
+            revokedTokenRepository.save(new RevokedToken(jti, expiresAt));
+        } catch (DataIntegrityViolationException e) {
+            add(jti, expiresAt.toEpochMilli());
+            return false;
+        }
+        add(jti, expiresAt.toEpochMilli());
+        return true;
+    }
+
+    // Ids are allocated at insert but become visible at commit, so a row can appear
+    // below the highest id already seen. Each sync re-reads the last sync-overlap-rows
+    // ids to pick those up; rows seen twice are simply added again.
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:10000}")
+    public void sync() {
+        long from = Math.max(0, lastSyncedId - syncOverlapRows);
+        for (RevokedToken token : revokedTokenRepository
+                .findByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(from, Instant.now())) {
+            add(token.getJti(), token.getExpiresAt().toEpochMilli());
+            lastSyncedId = Math.max(lastSyncedId, token.getId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.prune-interval-ms:600000}")
+    public void prune() {
+        long current = bucketOf(System.currentTimeMillis());
+        buckets.keySet().removeIf(bucket -> bucket < current);
+        revokedTokenRepository.deleteExpired(Instant.now());
+    }
+
+    public int size() {
+        return buckets.values().stream().mapToInt(LongSet::size).sum();
+    }
+
+    private void add(String jti, long expiresAtMillis) {
+        buckets.computeIfAbsent(bucketOf(expiresAtMillis), bucket -> new LongSet()).add(hash(jti));
+    }
+
+    private long bucketOf(long epochMillis) {
+        return epochMillis / TimeUnit.MINUTES.toMillis(bucketMinutes);
+    }
+
+    // 64-bit FNV-1a; a collision only means one extra token is treated as revoked
+    private static long hash(String jti) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < jti.length(); i++) {
+            hash ^= jti.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash == 0 ? 1 : hash;
+    }
+
+    private static final class LongSet {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private long[] table = new long[16];
+
+        private int size;
+
+        boolean contains(long value) {
+            lock.readLock().lock();
+            try {
+                return indexOf(table, value) >= 0;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void add(long value) {
+            lock.writeLock().lock();
+            try {
+                if (indexOf(table, value) >= 0) {
+                    return;
+                }
+                if ((size + 1) * 2 > table.length) {
+                    long[] resized = new long[table.length * 2];
+                    for (long existing : table) {
+                        if (existing != 0) {
+                            insert(resized, existing);
+                        }
+                    }
+                    table = resized;
+                }
+                insert(table, value);
+                size++;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return size;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private static int indexOf(long[] table, long value) {
+            int mask = table.length - 1;
+            for (int i = slot(value, mask);; i = (i + 1) & mask) {
+                if (table[i] == value) {
+                    return i;
+                }
+                if (table[i] == 0) {
+                    return -1;
+                }
+            }
+        }
+
+        private static void insert(long[] table, long value) {
+            int mask = table.length - 1;
+            int i = slot(value, mask);
+            while (table[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            table[i] = value;
+        }
+
+        private static int slot(long value, int mask) {
+            return (int) (value ^ (value >>> 32)) & mask;
+        }
+    }
+}
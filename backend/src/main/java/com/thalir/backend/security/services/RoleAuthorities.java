@@ -0,0 +1,81 @@
+package com.thalir.backend.security.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.thalir.backend.model.ERole;
+
+/**
+ * One shared, immutable authority per role. Principals built for each request, from
+ * the database or from token claims, reuse these instead of allocating new ones, and
+ * a user with a single role gets a shared single-element list.
+ */
+public final class RoleAuthorities {
+    private static final Map<ERole, GrantedAuthority> AUTHORITIES = new EnumMap<>(ERole.class);
+
+    private static final Map<ERole, List<GrantedAuthority>> SINGLE = new EnumMap<>(ERole.class);
+
+    static {
+        for (ERole role : ERole.values()) {
+            GrantedAuthority authority = new SimpleGrantedAuthority(role.name());
+            AUTHORITIES.put(role, authority);
+            SINGLE.put(role, List.of(authority));
+        }
+    }
+
+    private RoleAuthorities() {
+    }
+
+    public static GrantedAuthority of(ERole role) {
+        return AUTHORITIES.get(role);
+    }
+
+    // Names that are not an ERole, e.g. from a token issued by an older release, still get an authority
+    public static GrantedAuthority of(String name) {
+        ERole role = role(name);
+        return role != null ? AUTHORITIES.get(role) : new SimpleGrantedAuthority(name);
+    }
+
+    public static List<GrantedAuthority> forRoles(Collection<ERole> roles) {
+        if (roles.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (roles.size() == 1) {
+            return SINGLE.get(roles.iterator().next());
+        }
+        List<GrantedAuthority> authorities = new ArrayList<>(roles.size());
+        for (ERole role : roles) {
+            authorities.add(AUTHORITIES.get(role));
+        }
+        return Collections.unmodifiableList(authorities);
+    }
+
+    public static List<GrantedAuthority> forNames(Collection<?> names) {
+        if (names.size() == 1) {
+            String name = names.iterator().next().toString();
+            ERole role = role(name);
+            return role != null ? SINGLE.get(role) : List.of(new SimpleGrantedAuthority(name));
+        }
+        List<GrantedAuthority> authorities = new ArrayList<>(names.size());
+        for (Object name : names) {
+            authorities.add(of(name.toString()));
+        }
+        return Collections.unmodifiableList(authorities);
+    }
+
+    private static ERole role(String name) {
+        for (ERole role : ERole.values()) {
+            if (role.name().equals(name)) {
+                return role;
+            }
+        }
+        return null;
+    }
+}
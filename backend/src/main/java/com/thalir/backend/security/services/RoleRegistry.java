@@ -0,0 +1,82 @@
+package com.thalir.backend.security.services;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.thalir.backend.model.ERole;
+import com.thalir.backend.model.Role;
+import com.thalir.backend.repository.RoleRepository;
+
+/**
+ * In-memory copy of the roles table. Roles only change when they are seeded, so
+ * signup and seeding resolve them from here instead of querying per role.
+ */
+@Component
+public class RoleRegistry {
+    @Autowired
+    RoleRepository roleRepository;
+
+    private volatile Map<ERole, Role> roles = Collections.emptyMap();
+
+    @PostConstruct
+    public void refresh() {
+        Map<ERole, Role> loaded = new EnumMap<>(ERole.class);
+        // Keep the first row per name in case the table already holds duplicates
+        roleRepository.findAll().forEach(role -> loaded.putIfAbsent(role.getName(), role));
+        roles = loaded;
+    }
+
+    public boolean contains(ERole name) {
+        return roles.containsKey(name);
+    }
+
+    public Role get(ERole name) {
+        Role role = roles.get(name);
+        if (role == null) {
+            refresh();
+            role = roles.get(name);
+        }
+        if (role == null) {
+            throw new RuntimeException("Error: Role is not found.");
+        }
+        return role;
+    }
+
+    /**
+     * Maps the role names accepted at signup to roles. Unknown names and a missing
+     * set both fall back to the farmer role.
+     */
+    public Set<Role> resolve(Set<String> names) {
+        Set<Role> resolved = new HashSet<>();
+        if (names == null) {
+            resolved.add(get(ERole.ROLE_FARMER));
+            return resolved;
+        }
+
+        for (String name : names) {
+            resolved.add(get(toERole(name)));
+        }
+        return resolved;
+    }
+
+    public static ERole toERole(String name) {
+        switch (name) {
+            case "admin":
+                return ERole.ROLE_ADMIN;
+            case "provider":
+                return ERole.ROLE_PROVIDER;
+            case "consumer":
+                return ERole.ROLE_CONSUMER;
+            default:
+                return ERole.ROLE_FARMER;
+        }
+    }
+}
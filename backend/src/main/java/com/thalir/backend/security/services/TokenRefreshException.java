@@ -0,0 +1,9 @@
+package com.thalir.backend.security.services;
+
+public class TokenRefreshException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public TokenRefreshException(String message) {
+        super(message);
+    }
+}
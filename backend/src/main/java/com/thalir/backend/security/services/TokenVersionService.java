@@ -0,0 +1,71 @@
+package com.thalir.backend.security.services;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.thalir.backend.repository.UserRepository;
+import com.thalir.backend.repository.UserTokenVersion;
+
+/**
+ * Keeps the current token version of every user in memory so claims-based
+ * authentication can reject tokens issued before a role change without a
+ * database lookup. Users that were never bumped are at version 0 and take no space.
+ * Bumps made by other instances are picked up by polling users.token_version on the
+ * revocation sync interval.
+ */
+@Service
+public class TokenVersionService {
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    UserDetailsCache userCache;
+
+    private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void load() {
+        sync();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:10000}")
+    public void sync() {
+        for (UserTokenVersion version : userRepository.findRevokedTokenVersions()) {
+            Integer previous = versions.get(version.getId());
+            if (previous == null || previous < version.getTokenVersion()) {
+                versions.merge(version.getId(), version.getTokenVersion(), Math::max);
+                // Bumped elsewhere: principals cached here were built before the change
+                userCache.removeUserFromCache(version.getId());
+            }
+        }
+    }
+
+    public int currentVersion(Long userId) {
+        return versions.getOrDefault(userId, 0);
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        return tokenVersion >= currentVersion(userId);
+    }
+
+    /**
+     * Invalidates every token issued to the user so far. Called when the user's roles
+     * change (UserRoleService) and when a refresh token is reused (RefreshTokenService).
+     */
+    @Transactional
+    public int bump(Long userId) {
+        userRepository.incrementTokenVersion(userId);
+        int version = userRepository.findTokenVersionById(userId).orElse(0);
+        versions.merge(userId, version, Math::max);
+        // The bulk update bypasses entity listeners, so drop the cached principal here
+        userCache.removeUserFromCache(userId);
+        return version;
+    }
+}
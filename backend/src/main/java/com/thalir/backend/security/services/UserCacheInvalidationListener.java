@@ -0,0 +1,27 @@
+package com.thalir.backend.security.services;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.thalir.backend.model.User;
+
+/**
+ * Drops cached user details whenever a user is written through UserRepository,
+ * including role changes. Instantiated by Hibernate through Spring's bean container.
+ */
+public class UserCacheInvalidationListener {
+    @Autowired
+    private UserDetailsCache userCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        if (userCache != null) {
+            userCache.removeUserFromCache(user.getUsername());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.thalir.backend.security.services;
+
+import java.time.Duration;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import com.thalir.backend.cache.BoundedTtlCache;
+
+/**
+ * Bounded, TTL-based cache of user details keyed by username, which lets sign-ins
+ * and token checks skip the users query.
+ */
+@Component
+public class UserDetailsCache implements UserCache {
+    @Value("${auth.user-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${auth.user-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${auth.user-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private BoundedTtlCache<String, UserDetails> entries;
+
+    @PostConstruct
+    public void init() {
+        entries = new BoundedTtlCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        return enabled ? entries.get(username) : null;
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        if (enabled) {
+            entries.put(user.getUsername(), user);
+        }
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        entries.remove(username);
+    }
+
+    public void removeUserFromCache(Long userId) {
+        entries.removeIf((username, user) -> user instanceof UserDetailsImpl
+                && userId.equals(((UserDetailsImpl) user).getId()));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return entries.getHitCount();
+    }
+
+    public long getMissCount() {
+        return entries.getMissCount();
+    }
+
+    public long getEvictionCount() {
+        return entries.getEvictionCount();
+    }
+}
@@ -1,16 +1,17 @@
 package com.thalir.backend.security.services;
 
 import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.thalir.backend.model.User;
+import com.thalir.backend.model.ERole;
+import com.thalir.backend.repository.UserCredentials;
 
 public class UserDetailsImpl implements UserDetails {
     private static final long serialVersionUID = 1L;
@@ -35,17 +36,22 @@ public class UserDetailsImpl implements UserDetails {
         this.authorities = authorities;
     }
 
-    public static UserDetailsImpl build(User user) {
-        List<GrantedAuthority> authorities = user.getRoles().stream()
-                .map(role -> new SimpleGrantedAuthority(role.getName().name()))
-                .collect(Collectors.toList());
+    // Rows come from UserRepository.findCredentialsByUsername, one per role
+    public static UserDetailsImpl build(List<UserCredentials> rows) {
+        UserCredentials user = rows.get(0);
+        Set<ERole> roles = EnumSet.noneOf(ERole.class);
+        for (UserCredentials row : rows) {
+            if (row.getRole() != null) {
+                roles.add(row.getRole());
+            }
+        }
 
         return new UserDetailsImpl(
                 user.getId(),
                 user.getUsername(),
                 user.getEmail(),
                 user.getPassword(),
-                authorities);
+                RoleAuthorities.forRoles(roles));
     }
 
     @Override
@@ -1,13 +1,14 @@
 package com.thalir.backend.security.services;
 
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import com.thalir.backend.model.User;
+import com.thalir.backend.repository.UserCredentials;
 import com.thalir.backend.repository.UserRepository;
 
 @Service
@@ -15,12 +16,41 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     @Autowired
     UserRepository userRepository;
 
+    @Autowired
+    UserDetailsCache userCache;
+
+    @Autowired
+    AuthMetrics authMetrics;
+
     @Override
-    @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
+        long started = System.nanoTime();
+        try {
+            return loadUser(username);
+        } finally {
+            authMetrics.recordUserLookup(System.nanoTime() - started);
+        }
+    }
+
+    private UserDetails loadUser(String username) {
+        // Cache hits must not open a transaction, which would borrow a pooled connection
+        UserDetails cached = userCache.getUserFromCache(username);
+        if (cached != null) {
+            return cached;
+        }
+
+        // A single join query; no entities or lazy collections, so no surrounding transaction either
+        List<UserCredentials> rows = userRepository.findCredentialsByUsername(username);
+        if (rows.isEmpty()) {
+            throw new UsernameNotFoundException("User Not Found with username: " + username);
+        }
+        UserDetailsImpl userDetails = UserDetailsImpl.build(rows);
+
+        userCache.putUserInCache(userDetails);
+        return userDetails;
+    }
 
-        return UserDetailsImpl.build(user);
+    public void evict(String username) {
+        userCache.removeUserFromCache(username);
     }
 }
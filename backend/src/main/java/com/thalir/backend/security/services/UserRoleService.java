@@ -0,0 +1,39 @@
+package com.thalir.backend.security.services;
+
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.thalir.backend.model.User;
+import com.thalir.backend.repository.UserRepository;
+
+/**
+ * Changes a user's roles. Tokens carry the roles they were issued with, so the change
+ * also bumps the user's token version: outstanding access and refresh tokens stop
+ * being accepted on every instance and the user signs in again with the new roles.
+ */
+@Service
+public class UserRoleService {
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    RoleRegistry roleRegistry;
+
+    @Autowired
+    TokenVersionService tokenVersionService;
+
+    @Transactional
+    public boolean updateRoles(Long userId, Set<String> names) {
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null) {
+            return false;
+        }
+        user.setRoles(roleRegistry.resolve(names));
+        userRepository.save(user);
+        tokenVersionService.bump(userId);
+        return true;
+    }
+}
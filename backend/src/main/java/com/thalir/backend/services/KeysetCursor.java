@@ -0,0 +1,37 @@
+package com.thalir.backend.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Opaque page cursors for keyset pagination: the sort name followed by the sort key
+ * values of the last row returned, base64url-encoded.
+ */
+final class KeysetCursor {
+    private KeysetCursor() {
+    }
+
+    static String encode(String sort, Object... values) {
+        StringBuilder position = new StringBuilder(sort);
+        for (Object value : values) {
+            position.append(':').append(value);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(position.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String[] decode(String cursor, String sort, int fields) {
+        String position;
+        try {
+            position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String[] parts = position.split(":");
+        if (parts.length != fields + 1 || !sort.equals(parts[0])) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return Arrays.copyOfRange(parts, 1, parts.length);
+    }
+}
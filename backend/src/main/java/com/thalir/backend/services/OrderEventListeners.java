@@ -0,0 +1,49 @@
+package com.thalir.backend.services;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.thalir.backend.model.EOrderStatus;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Reactions to order status changes. Each runs after the change has committed, on the
+ * shared async executor, so placing or updating an order never waits on them.
+ */
+@Component
+public class OrderEventListeners {
+    @Autowired
+    ProductCache productCache;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    // Stock is changed with bulk updates that bypass the product entity listener
+    @Async
+    @TransactionalEventListener
+    public void evictChangedProducts(OrderStatusChangedEvent event) {
+        if (event.getPreviousStatus() != null && event.getStatus() != EOrderStatus.CANCELLED) {
+            return;
+        }
+        Set<Long> productIds = new HashSet<>();
+        for (OrderStatusChangedEvent.Line line : event.getLines()) {
+            if (productIds.add(line.getProductId())) {
+                productCache.evictProduct(line.getProductId());
+            }
+        }
+    }
+
+    @Async
+    @TransactionalEventListener
+    public void countStatusChange(OrderStatusChangedEvent event) {
+        meterRegistry.counter("orders.status.changes", "status", event.getStatus().name().toLowerCase(Locale.ROOT))
+                .increment();
+    }
+}
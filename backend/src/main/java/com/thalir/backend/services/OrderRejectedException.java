@@ -0,0 +1,9 @@
+package com.thalir.backend.services;
+
+public class OrderRejectedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public OrderRejectedException(String message) {
+        super(message);
+    }
+}
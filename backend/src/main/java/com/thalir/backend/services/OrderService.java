@@ -0,0 +1,115 @@
+package com.thalir.backend.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.thalir.backend.model.EOrderStatus;
+import com.thalir.backend.model.Order;
+import com.thalir.backend.model.OrderItem;
+import com.thalir.backend.payload.request.OrderRequest;
+import com.thalir.backend.payload.response.OrderPage;
+import com.thalir.backend.payload.response.OrderResponse;
+import com.thalir.backend.repository.OrderRepository;
+import com.thalir.backend.repository.ProductRepository;
+
+@Service
+public class OrderService {
+    private static final String SORT_NEWEST = "newest";
+
+    @Autowired
+    OrderWriter orderWriter;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Value("${order.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${order.page.max-size:100}")
+    private int maxPageSize;
+
+    public CompletableFuture<OrderResponse> place(Long customerId, String idempotencyKey, OrderRequest request) {
+        return orderWriter.submit(customerId, idempotencyKey, request);
+    }
+
+    // Two statements per page: the orders, then all of their items at once
+    public OrderPage listForCustomer(Long customerId, String cursor, Integer size) {
+        int limit = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        long beforeId = cursor != null
+                ? Long.parseLong(KeysetCursor.decode(cursor, SORT_NEWEST, 1)[0])
+                : Long.MAX_VALUE;
+        List<Order> orders = orderRepository.findByCustomer(customerId, beforeId, Limit.of(limit + 1));
+        String nextCursor = null;
+        if (orders.size() > limit) {
+            orders = orders.subList(0, limit);
+            nextCursor = KeysetCursor.encode(SORT_NEWEST, orders.get(limit - 1).getId());
+        }
+
+        Map<Long, List<OrderItem>> itemsByOrder = new HashMap<>();
+        if (!orders.isEmpty()) {
+            List<Long> orderIds = new ArrayList<>(orders.size());
+            for (Order order : orders) {
+                orderIds.add(order.getId());
+            }
+            for (OrderItem item : orderRepository.findItemsByOrderIds(orderIds)) {
+                itemsByOrder.computeIfAbsent(item.getOrder().getId(), id -> new ArrayList<>()).add(item);
+            }
+        }
+        List<OrderResponse> items = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            items.add(OrderResponse.of(order, itemsByOrder.getOrDefault(order.getId(), List.of())));
+        }
+        return new OrderPage(items, nextCursor);
+    }
+
+    public Optional<OrderResponse> get(Long id) {
+        return orderRepository.findWithItemsById(id).map(OrderResponse::of);
+    }
+
+    /**
+     * Moves the order to the given status; a cancelled order's stock is returned.
+     * Concurrent changes to the same order fail on its version rather than waiting.
+     */
+    @Transactional
+    public Optional<OrderResponse> updateStatus(Long id, EOrderStatus status) {
+        Optional<Order> found = orderRepository.findWithItemsById(id);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        Order order = found.get();
+        EOrderStatus previous = order.getStatus();
+        if (!previous.canMoveTo(status)) {
+            throw new IllegalStateException("Cannot move an order from " + previous + " to " + status);
+        }
+
+        if (status == EOrderStatus.CANCELLED) {
+            Map<Long, Integer> restock = new TreeMap<>();
+            for (OrderItem item : order.getItems()) {
+                restock.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+            }
+            restock.forEach(productRepository::incrementStock);
+        }
+        order.setStatus(status);
+        orderRepository.flush();
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(order, previous));
+        return Optional.of(OrderResponse.of(order));
+    }
+}
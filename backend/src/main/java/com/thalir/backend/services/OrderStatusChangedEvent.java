@@ -0,0 +1,104 @@
+package com.thalir.backend.services;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.thalir.backend.model.EOrderStatus;
+import com.thalir.backend.model.Order;
+import com.thalir.backend.model.OrderItem;
+
+/**
+ * Published inside the transaction that changed an order; listeners receive it after
+ * commit. previousStatus is null when the order has just been placed. Carries a copy
+ * of the order lines so listeners never touch the entity or the session.
+ */
+public final class OrderStatusChangedEvent {
+    private final Long orderId;
+    private final Long customerId;
+    private final EOrderStatus previousStatus;
+    private final EOrderStatus status;
+    private final BigDecimal totalAmount;
+    private final Instant placedAt;
+    private final Instant occurredAt;
+    private final List<Line> lines;
+
+    public OrderStatusChangedEvent(Order order, EOrderStatus previousStatus) {
+        this.orderId = order.getId();
+        this.customerId = order.getCustomer().getId();
+        this.previousStatus = previousStatus;
+        this.status = order.getStatus();
+        this.totalAmount = order.getTotalAmount();
+        this.placedAt = order.getCreatedAt();
+        this.occurredAt = Instant.now();
+        List<Line> lines = new ArrayList<>(order.getItems().size());
+        for (OrderItem item : order.getItems()) {
+            lines.add(new Line(item.getProductId(), item.getProviderId(), item.getQuantity(), item.getLineTotal()));
+        }
+        this.lines = Collections.unmodifiableList(lines);
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public EOrderStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public EOrderStatus getStatus() {
+        return status;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public Instant getPlacedAt() {
+        return placedAt;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public List<Line> getLines() {
+        return lines;
+    }
+
+    public static final class Line {
+        private final Long productId;
+        private final Long providerId;
+        private final int quantity;
+        private final BigDecimal lineTotal;
+
+        private Line(Long productId, Long providerId, int quantity, BigDecimal lineTotal) {
+            this.productId = productId;
+            this.providerId = providerId;
+            this.quantity = quantity;
+            this.lineTotal = lineTotal;
+        }
+
+        public Long getProductId() {
+            return productId;
+        }
+
+        public Long getProviderId() {
+            return providerId;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public BigDecimal getLineTotal() {
+            return lineTotal;
+        }
+    }
+}
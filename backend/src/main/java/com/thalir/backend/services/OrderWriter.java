@@ -0,0 +1,356 @@
+package com.thalir.backend.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.thalir.backend.model.Order;
+import com.thalir.backend.model.OrderItem;
+import com.thalir.backend.payload.request.OrderRequest;
+import com.thalir.backend.payload.response.OrderResponse;
+import com.thalir.backend.repository.OrderRepository;
+import com.thalir.backend.repository.ProductRepository;
+import com.thalir.backend.repository.ProductStock;
+import com.thalir.backend.repository.UserRepository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Writes order placements in batches. A single writer thread drains the bounded queue,
+ * collecting up to max-batch-size placements or waiting at most max-wait-ms, and writes
+ * each batch in one transaction: replays are answered from existing orders, the rest
+ * are checked against one stock snapshot, and each product gets a single conditional
+ * decrement for the batch's total. A burst on a hot product therefore costs one row
+ * update per batch rather than one locked read-modify-write per order. If another
+ * instance changed the stock in between, the batch is re-planned from a fresh snapshot.
+ */
+@Component
+public class OrderWriter {
+    private static final Logger logger = LoggerFactory.getLogger(OrderWriter.class);
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Value("${order.writer.max-batch-size:64}")
+    private int maxBatchSize;
+
+    @Value("${order.writer.max-wait-ms:5}")
+    private long maxWaitMs;
+
+    @Value("${order.writer.queue-capacity:2000}")
+    private int queueCapacity;
+
+    @Value("${order.writer.max-attempts:3}")
+    private int maxAttempts;
+
+    private BlockingQueue<Pending> queue;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Thread writer;
+
+    private volatile boolean running;
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private final AtomicLong retries = new AtomicLong();
+
+    private DistributionSummary batchSize;
+
+    private Timer queueWait;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        batchSize = DistributionSummary.builder("orders.writer.batch.size")
+                .description("Order placements per write transaction")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        queueWait = Timer.builder("orders.writer.queue.wait")
+                .description("Time a placement waits before its batch is written")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("orders.writer.queue.size", queue, BlockingQueue::size)
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.writer.rejected", rejected, AtomicLong::get)
+                .description("Placements rejected because the writer queue was full")
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.writer.retries", retries, AtomicLong::get)
+                .description("Batches re-planned after a concurrent stock change or key conflict")
+                .register(meterRegistry);
+
+        running = true;
+        writer = new Thread(this::writeLoop, "order-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        writer.interrupt();
+    }
+
+    public CompletableFuture<OrderResponse> submit(Long customerId, String idempotencyKey, OrderRequest request) {
+        Pending pending = new Pending(customerId, idempotencyKey, request);
+        if (!queue.offer(pending)) {
+            rejected.incrementAndGet();
+            pending.future.completeExceptionally(
+                    new OrderCapacityExceededException("Order queue is full", 1));
+        }
+        return pending.future;
+    }
+
+    private void writeLoop() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+                while (batch.size() < maxBatchSize) {
+                    if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    Pending next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                long now = System.nanoTime();
+                for (Pending pending : batch) {
+                    queueWait.record(now - pending.enqueuedAt, TimeUnit.NANOSECONDS);
+                }
+                batchSize.record(batch.size());
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(batch, new IllegalStateException("Order writer stopped"));
+                break;
+            } catch (RuntimeException e) {
+                logger.error("Order batch could not be written", e);
+                fail(batch, e);
+            }
+            batch.clear();
+        }
+
+        List<Pending> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        fail(remaining, new IllegalStateException("Order writer stopped"));
+    }
+
+    private void write(List<Pending> batch) {
+        if (attempt(batch) || batch.size() == 1) {
+            return;
+        }
+        // A unique key conflict fails the whole transaction; write one at a time so only the duplicate is affected
+        for (Pending pending : batch) {
+            attempt(List.of(pending));
+        }
+    }
+
+    // Returns false, without completing anything, if a multi-order batch hit a key conflict
+    private boolean attempt(List<Pending> batch) {
+        for (int attempt = 1;; attempt++) {
+            try {
+                Map<Pending, Object> results = transactionTemplate.execute(status -> writeBatch(batch));
+                for (Pending pending : batch) {
+                    Object result = results.get(pending);
+                    if (result instanceof OrderResponse) {
+                        pending.future.complete((OrderResponse) result);
+                    } else {
+                        pending.future.completeExceptionally((RuntimeException) result);
+                    }
+                }
+                return true;
+            } catch (StockChangedException | DataIntegrityViolationException e) {
+                boolean conflict = e instanceof DataIntegrityViolationException;
+                if (conflict && batch.size() > 1) {
+                    return false;
+                }
+                if (attempt >= maxAttempts) {
+                    fail(batch, new OrderRejectedException(conflict
+                            ? "Order conflicts with a concurrent request, please retry"
+                            : "Stock changed while the order was placed, please retry"));
+                    return true;
+                }
+                retries.incrementAndGet();
+            }
+        }
+    }
+
+    private Map<Pending, Object> writeBatch(List<Pending> batch) {
+        Map<Pending, Object> results = new IdentityHashMap<>();
+
+        // Replays of orders that already exist, and repeats of the same key within the batch
+        Set<Long> customerIds = new HashSet<>();
+        Set<String> keys = new HashSet<>();
+        for (Pending pending : batch) {
+            customerIds.add(pending.customerId);
+            keys.add(pending.idempotencyKey);
+        }
+        Map<String, Order> existing = new HashMap<>();
+        for (Order order : orderRepository.findWithItemsByIdempotencyKeys(customerIds, keys)) {
+            existing.put(order.getCustomer().getId() + "|" + order.getIdempotencyKey(), order);
+        }
+        Map<String, Pending> firstByKey = new HashMap<>();
+        Map<Pending, Pending> repeats = new IdentityHashMap<>();
+        List<Pending> toPlace = new ArrayList<>();
+        Set<Long> productIds = new HashSet<>();
+        for (Pending pending : batch) {
+            Order replayed = existing.get(pending.key());
+            if (replayed != null) {
+                results.put(pending, OrderResponse.of(replayed));
+                continue;
+            }
+            Pending first = firstByKey.putIfAbsent(pending.key(), pending);
+            if (first != null) {
+                repeats.put(pending, first);
+                continue;
+            }
+            toPlace.add(pending);
+            productIds.addAll(pending.quantities.keySet());
+        }
+
+        // Check every placement against one snapshot, in arrival order
+        Map<Long, ProductStock> stock = new HashMap<>();
+        Map<Long, Integer> remaining = new HashMap<>();
+        if (!productIds.isEmpty()) {
+            for (ProductStock product : productRepository.findStockByIdIn(productIds)) {
+                stock.put(product.getId(), product);
+                remaining.put(product.getId(), product.getQuantity());
+            }
+        }
+        Map<Long, Integer> decrements = new TreeMap<>();
+        Map<Pending, Order> orders = new IdentityHashMap<>();
+        for (Pending pending : toPlace) {
+            String problem = null;
+            for (Map.Entry<Long, Integer> line : pending.quantities.entrySet()) {
+                ProductStock product = stock.get(line.getKey());
+                if (product == null || !product.isEnabled()) {
+                    problem = "Product " + line.getKey() + " is not available";
+                    break;
+                }
+                if (remaining.get(line.getKey()) < line.getValue()) {
+                    problem = "Insufficient stock for " + product.getName();
+                    break;
+                }
+            }
+            if (problem != null) {
+                results.put(pending, new OrderRejectedException(problem));
+                continue;
+            }
+
+            Order order = new Order();
+            order.setCustomer(userRepository.getReferenceById(pending.customerId));
+            order.setIdempotencyKey(pending.idempotencyKey);
+            for (Map.Entry<Long, Integer> line : pending.quantities.entrySet()) {
+                ProductStock product = stock.get(line.getKey());
+                order.addItem(new OrderItem(product.getId(), product.getProviderId(), product.getName(),
+                        product.getPrice(), line.getValue()));
+                remaining.merge(product.getId(), -line.getValue(), Integer::sum);
+                decrements.merge(product.getId(), line.getValue(), Integer::sum);
+            }
+            orders.put(pending, order);
+        }
+
+        // One conditional decrement per product, in id order so concurrent batches lock rows in the same order
+        for (Map.Entry<Long, Integer> decrement : decrements.entrySet()) {
+            if (productRepository.decrementStock(decrement.getKey(), decrement.getValue()) == 0) {
+                throw new StockChangedException();
+            }
+        }
+        orderRepository.saveAll(orders.values());
+        orderRepository.flush();
+
+        for (Map.Entry<Pending, Order> placed : orders.entrySet()) {
+            results.put(placed.getKey(), OrderResponse.of(placed.getValue()));
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(placed.getValue(), null));
+        }
+        for (Map.Entry<Pending, Pending> repeat : repeats.entrySet()) {
+            results.put(repeat.getKey(), results.get(repeat.getValue()));
+        }
+        return results;
+    }
+
+    private static void fail(List<Pending> batch, Throwable error) {
+        for (Pending pending : batch) {
+            pending.future.completeExceptionally(error);
+        }
+    }
+
+    private static final class StockChangedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private StockChangedException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final class Pending {
+        private final Long customerId;
+        private final String idempotencyKey;
+        // Product id to quantity, with repeated lines for the same product merged
+        private final Map<Long, Integer> quantities = new LinkedHashMap<>();
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<OrderResponse> future = new CompletableFuture<>();
+
+        private Pending(Long customerId, String idempotencyKey, OrderRequest request) {
+            this.customerId = customerId;
+            this.idempotencyKey = idempotencyKey;
+            for (OrderRequest.Item item : request.getItems()) {
+                quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+            }
+        }
+
+        private String key() {
+            return customerId + "|" + idempotencyKey;
+        }
+    }
+}
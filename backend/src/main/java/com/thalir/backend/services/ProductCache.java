@@ -0,0 +1,96 @@
+package com.thalir.backend.services;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.thalir.backend.cache.BoundedTtlCache;
+import com.thalir.backend.payload.response.ProductPage;
+import com.thalir.backend.payload.response.ProductResponse;
+
+/**
+ * Read cache for the hot paths of the catalog: single products and the first page of
+ * each public listing. Writes evict the product and every cached first page on this
+ * instance; ttl-seconds bounds how long another instance can keep serving a product
+ * after it changed.
+ */
+@Component
+public class ProductCache {
+    private static final String PRODUCT = "product:";
+    private static final String PAGE = "page:";
+
+    @Value("${product.cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${product.cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // Bumped on every write so a read that started before it cannot cache what it loaded
+    private final AtomicLong generation = new AtomicLong();
+
+    private BoundedTtlCache<String, Object> entries;
+
+    @PostConstruct
+    public void init() {
+        entries = new BoundedTtlCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    public ProductResponse getProduct(Long id) {
+        return (ProductResponse) entries.get(PRODUCT + id);
+    }
+
+    public void putProduct(ProductResponse product, long loadedAtGeneration) {
+        put(PRODUCT + product.getId(), product, loadedAtGeneration);
+    }
+
+    public ProductPage getFirstPage(String listing) {
+        return (ProductPage) entries.get(PAGE + listing);
+    }
+
+    public void putFirstPage(String listing, ProductPage page, long loadedAtGeneration) {
+        put(PAGE + listing, page, loadedAtGeneration);
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public void evictProduct(Long id) {
+        generation.incrementAndGet();
+        invalidations.incrementAndGet();
+        entries.removeIf((key, value) -> key.equals(PRODUCT + id) || key.startsWith(PAGE));
+    }
+
+    private void put(String key, Object value, long loadedAtGeneration) {
+        if (generation.get() != loadedAtGeneration) {
+            return;
+        }
+        entries.put(key, value);
+        // A write between the check and the put may have evicted before the entry existed
+        if (generation.get() != loadedAtGeneration) {
+            entries.remove(key);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return entries.getHitCount();
+    }
+
+    public long getMissCount() {
+        return entries.getMissCount();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.get();
+    }
+}
@@ -0,0 +1,40 @@
+package com.thalir.backend.services;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.thalir.backend.model.Product;
+
+/**
+ * Evicts cached product reads whenever a product is written through ProductRepository.
+ * Evicts again once the transaction commits, so a read that raced the write and
+ * reloaded the old row is not left in the cache.
+ */
+public class ProductCacheInvalidationListener {
+    @Autowired
+    private ProductCache productCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onProductChanged(Product product) {
+        if (productCache == null) {
+            return;
+        }
+        Long id = product.getId();
+        productCache.evictProduct(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    productCache.evictProduct(id);
+                }
+            });
+        }
+    }
+}
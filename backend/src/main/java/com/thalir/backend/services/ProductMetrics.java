@@ -0,0 +1,29 @@
+package com.thalir.backend.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Component
+public class ProductMetrics implements MeterBinder {
+    @Autowired
+    ProductCache cache;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("product.cache.requests", cache, ProductCache::getHitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("product.cache.requests", cache, ProductCache::getMissCount)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("product.cache.invalidations", cache, ProductCache::getInvalidationCount)
+                .register(registry);
+        Gauge.builder("product.cache.size", cache, ProductCache::size)
+                .register(registry);
+    }
+}
@@ -0,0 +1,173 @@
+package com.thalir.backend.services;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.thalir.backend.model.Product;
+import com.thalir.backend.payload.request.ProductRequest;
+import com.thalir.backend.payload.response.ProductPage;
+import com.thalir.backend.payload.response.ProductResponse;
+import com.thalir.backend.repository.ProductRepository;
+import com.thalir.backend.repository.UserRepository;
+
+/**
+ * Product catalog reads and writes. Listings are keyset-paginated: the cursor holds
+ * the sort key and id of the last row returned, and the next page seeks past it, so
+ * deep pages cost the same as the first. Sort is "newest" (id descending) or "price"
+ * (price ascending, id as tie-breaker).
+ */
+@Service
+public class ProductService {
+    public static final String SORT_NEWEST = "newest";
+    public static final String SORT_PRICE = "price";
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ProductCache productCache;
+
+    @Value("${product.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${product.page.max-size:100}")
+    private int maxPageSize;
+
+    public ProductPage list(String category, String sort, String cursor, Integer size) {
+        int limit = pageSize(size);
+        String listing = sort + "|" + (category != null ? category : "") + "|" + limit;
+        if (cursor == null) {
+            ProductPage cached = productCache.getFirstPage(listing);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        long generation = productCache.generation();
+        ProductPage page;
+        if (SORT_PRICE.equals(sort)) {
+            BigDecimal afterPrice = BigDecimal.valueOf(-1);
+            long afterId = 0;
+            if (cursor != null) {
+                String[] parts = KeysetCursor.decode(cursor, SORT_PRICE, 2);
+                afterPrice = new BigDecimal(parts[0]);
+                afterId = Long.parseLong(parts[1]);
+            }
+            List<ProductResponse> rows = category != null
+                    ? productRepository.findCheapestInCategory(category, afterPrice, afterId, Limit.of(limit + 1))
+                    : productRepository.findCheapest(afterPrice, afterId, Limit.of(limit + 1));
+            page = toPage(rows, limit, SORT_PRICE);
+        } else if (SORT_NEWEST.equals(sort)) {
+            long beforeId = beforeId(cursor);
+            List<ProductResponse> rows = category != null
+                    ? productRepository.findNewestInCategory(category, beforeId, Limit.of(limit + 1))
+                    : productRepository.findNewest(beforeId, Limit.of(limit + 1));
+            page = toPage(rows, limit, SORT_NEWEST);
+        } else {
+            throw new IllegalArgumentException("Unknown sort " + sort);
+        }
+
+        if (cursor == null) {
+            productCache.putFirstPage(listing, page, generation);
+        }
+        return page;
+    }
+
+    public ProductPage listByProvider(Long providerId, String cursor, Integer size) {
+        int limit = pageSize(size);
+        long beforeId = beforeId(cursor);
+        return toPage(productRepository.findByProvider(providerId, beforeId, Limit.of(limit + 1)), limit, SORT_NEWEST);
+    }
+
+    // Disabled products are visible only to their provider and to admins, as in the listings
+    public Optional<ProductResponse> get(Long id, Long viewerId, boolean admin) {
+        return get(id).filter(product -> product.isEnabled() || admin || product.getProviderId().equals(viewerId));
+    }
+
+    // The cache holds every product, enabled or not; visibility is applied on the way out
+    private Optional<ProductResponse> get(Long id) {
+        ProductResponse cached = productCache.getProduct(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long generation = productCache.generation();
+        Optional<ProductResponse> product = productRepository.findResponseById(id);
+        product.ifPresent(found -> productCache.putProduct(found, generation));
+        return product;
+    }
+
+    public Optional<Long> findProviderId(Long id) {
+        return productRepository.findProviderIdById(id);
+    }
+
+    @Transactional
+    public ProductResponse create(Long providerId, ProductRequest request) {
+        Product product = new Product();
+        product.setProvider(userRepository.getReferenceById(providerId));
+        apply(product, request);
+        productRepository.saveAndFlush(product);
+        return productRepository.findResponseById(product.getId()).orElseThrow();
+    }
+
+    @Transactional
+    public Optional<ProductResponse> update(Long id, ProductRequest request) {
+        Optional<Product> existing = productRepository.findById(id);
+        if (existing.isEmpty()) {
+            return Optional.empty();
+        }
+        apply(existing.get(), request);
+        productRepository.flush();
+        return productRepository.findResponseById(id);
+    }
+
+    @Transactional
+    public boolean delete(Long id) {
+        Optional<Product> existing = productRepository.findById(id);
+        existing.ifPresent(productRepository::delete);
+        return existing.isPresent();
+    }
+
+    private static void apply(Product product, ProductRequest request) {
+        product.setName(request.getName());
+        product.setSku(request.getSku());
+        product.setCategory(request.getCategory());
+        product.setPrice(request.getPrice());
+        product.setQuantity(request.getQuantity());
+        product.setMinimumStock(request.getMinimumStock());
+        product.setEnabled(request.isEnabled());
+    }
+
+    private int pageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    private static long beforeId(String cursor) {
+        return cursor != null ? Long.parseLong(KeysetCursor.decode(cursor, SORT_NEWEST, 1)[0]) : Long.MAX_VALUE;
+    }
+
+    // One extra row is fetched to tell whether another page follows
+    private static ProductPage toPage(List<ProductResponse> rows, int limit, String sort) {
+        if (rows.size() <= limit) {
+            return new ProductPage(rows, null);
+        }
+        List<ProductResponse> items = rows.subList(0, limit);
+        ProductResponse last = items.get(limit - 1);
+        String nextCursor = SORT_PRICE.equals(sort)
+                ? KeysetCursor.encode(SORT_PRICE, last.getPrice().toPlainString(), last.getId())
+                : KeysetCursor.encode(SORT_NEWEST, last.getId());
+        return new ProductPage(List.copyOf(items), nextCursor);
+    }
+}
@@ -0,0 +1,293 @@
+package com.thalir.backend.services;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.thalir.backend.model.EOrderStatus;
+import com.thalir.backend.model.ProviderOrderStatusCount;
+import com.thalir.backend.model.ProviderSalesDaily;
+import com.thalir.backend.model.ProviderSalesHourly;
+import com.thalir.backend.payload.response.ProductSalesResponse;
+import com.thalir.backend.payload.response.SalesPoint;
+import com.thalir.backend.payload.response.SalesSummaryResponse;
+import com.thalir.backend.repository.SalesRollupRepository;
+
+/**
+ * Keeps the sales rollup tables current as orders change, and serves dashboard reads
+ * from them. Order events are handled synchronously inside the transaction that
+ * changed the order: their contributions are summed per rollup row and written just
+ * before that transaction commits, so the rollups commit or roll back together with
+ * the orders and a batch of orders costs one upsert per row it touches. Reads cost
+ * one row per day or hour in the requested range, however many orders there are.
+ */
+@Service
+public class SalesRollupService {
+    @Autowired
+    SalesRollupRepository rollupRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Value("${analytics.time-zone:UTC}")
+    private String timeZone;
+
+    private ZoneId zone;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        zone = ZoneId.of(timeZone);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Delta delta = new Delta();
+            delta.add(event, zone);
+            transactionTemplate.executeWithoutResult(status -> apply(delta));
+            return;
+        }
+
+        Delta delta = (Delta) TransactionSynchronizationManager.getResource(this);
+        if (delta == null) {
+            Delta created = new Delta();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    apply(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(SalesRollupService.this);
+                }
+            });
+            delta = created;
+        }
+        delta.add(event, zone);
+    }
+
+    // Rows are written in key order so concurrent transactions lock them in the same order
+    private void apply(Delta delta) {
+        for (Counts counts : delta.daily.values()) {
+            rollupRepository.addDaily(counts.providerId, counts.date, counts.placed, counts.cancelled, counts.units,
+                    counts.revenue);
+        }
+        for (Counts counts : delta.hourly.values()) {
+            rollupRepository.addHourly(counts.providerId, counts.hour, counts.placed, counts.cancelled, counts.units,
+                    counts.revenue);
+        }
+        for (Counts counts : delta.products.values()) {
+            rollupRepository.addProductDaily(counts.providerId, counts.date, counts.productId, counts.units,
+                    counts.revenue);
+        }
+        for (Counts counts : delta.statuses.values()) {
+            if (counts.orders != 0) {
+                rollupRepository.addStatusCount(counts.providerId, counts.status.name(), counts.orders);
+            }
+        }
+    }
+
+    public List<SalesPoint> daily(Long providerId, LocalDate from, LocalDate to) {
+        Map<LocalDate, ProviderSalesDaily> rows = new HashMap<>();
+        for (ProviderSalesDaily row : rollupRepository.findDaily(providerId, from, to)) {
+            rows.put(row.getSalesDate(), row);
+        }
+        // Days without sales are filled in so charts get a continuous series
+        List<SalesPoint> points = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            ProviderSalesDaily row = rows.get(date);
+            points.add(row == null
+                    ? new SalesPoint(date.toString(), 0, 0, 0, BigDecimal.ZERO)
+                    : new SalesPoint(date.toString(), row.getOrdersPlaced(), row.getOrdersCancelled(),
+                            row.getUnitsSold(), row.getRevenue()));
+        }
+        return points;
+    }
+
+    public List<SalesPoint> hourly(Long providerId, LocalDate from, LocalDate to) {
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        Map<LocalDateTime, ProviderSalesHourly> rows = new HashMap<>();
+        for (ProviderSalesHourly row : rollupRepository.findHourly(providerId, start, end)) {
+            rows.put(row.getSalesHour(), row);
+        }
+        List<SalesPoint> points = new ArrayList<>();
+        for (LocalDateTime hour = start; hour.isBefore(end); hour = hour.plusHours(1)) {
+            ProviderSalesHourly row = rows.get(hour);
+            points.add(row == null
+                    ? new SalesPoint(hour.toString(), 0, 0, 0, BigDecimal.ZERO)
+                    : new SalesPoint(hour.toString(), row.getOrdersPlaced(), row.getOrdersCancelled(),
+                            row.getUnitsSold(), row.getRevenue()));
+        }
+        return points;
+    }
+
+    public List<ProductSalesResponse> topProducts(Long providerId, LocalDate from, LocalDate to, int limit) {
+        return rollupRepository.findTopProducts(providerId, from, to, Limit.of(limit));
+    }
+
+    public SalesSummaryResponse summary(Long providerId, LocalDate from, LocalDate to) {
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        Totals current = new Totals();
+        Totals previous = new Totals();
+        for (ProviderSalesDaily row : rollupRepository.findDaily(providerId, from.minusDays(days), to)) {
+            (row.getSalesDate().isBefore(from) ? previous : current).add(row);
+        }
+
+        SalesSummaryResponse summary = new SalesSummaryResponse();
+        summary.setFrom(from);
+        summary.setTo(to);
+        summary.setRevenue(current.revenue);
+        summary.setOrdersPlaced(current.placed);
+        summary.setOrdersCancelled(current.cancelled);
+        summary.setUnitsSold(current.units);
+        long netOrders = current.placed - current.cancelled;
+        summary.setAverageOrderValue(netOrders > 0
+                ? current.revenue.divide(BigDecimal.valueOf(netOrders), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO);
+        summary.setRevenueChangePercent(previous.revenue.signum() > 0
+                ? current.revenue.subtract(previous.revenue).multiply(BigDecimal.valueOf(100))
+                        .divide(previous.revenue, 1, RoundingMode.HALF_UP).doubleValue()
+                : null);
+        summary.setOrdersChangePercent(previous.placed > 0
+                ? Math.round((current.placed - previous.placed) * 1000.0 / previous.placed) / 10.0
+                : null);
+
+        Map<String, Long> ordersByStatus = new LinkedHashMap<>();
+        for (EOrderStatus status : EOrderStatus.values()) {
+            ordersByStatus.put(status.name(), 0L);
+        }
+        for (ProviderOrderStatusCount count : rollupRepository.findStatusCounts(providerId)) {
+            ordersByStatus.put(count.getStatus().name(), count.getOrders());
+        }
+        summary.setOrdersByStatus(ordersByStatus);
+        return summary;
+    }
+
+    private static final class Totals {
+        private long placed;
+        private long cancelled;
+        private long units;
+        private BigDecimal revenue = BigDecimal.ZERO;
+
+        private void add(ProviderSalesDaily row) {
+            placed += row.getOrdersPlaced();
+            cancelled += row.getOrdersCancelled();
+            units += row.getUnitsSold();
+            revenue = revenue.add(row.getRevenue());
+        }
+    }
+
+    /**
+     * Rollup increments accumulated over one transaction, keyed by the row they apply to.
+     */
+    private static final class Delta {
+        private final Map<String, Counts> daily = new TreeMap<>();
+        private final Map<String, Counts> hourly = new TreeMap<>();
+        private final Map<String, Counts> products = new TreeMap<>();
+        private final Map<String, Counts> statuses = new TreeMap<>();
+
+        private void add(OrderStatusChangedEvent event, ZoneId zone) {
+            LocalDateTime placedAt = LocalDateTime.ofInstant(event.getPlacedAt(), zone);
+            LocalDate date = placedAt.toLocalDate();
+            LocalDateTime hour = placedAt.truncatedTo(ChronoUnit.HOURS);
+            boolean placed = event.getPreviousStatus() == null;
+            boolean cancelled = event.getStatus() == EOrderStatus.CANCELLED;
+            // Placing adds the order's units and revenue; cancelling takes them back out
+            int sign = placed ? 1 : cancelled ? -1 : 0;
+
+            Map<Long, Counts> byProvider = new LinkedHashMap<>();
+            for (OrderStatusChangedEvent.Line line : event.getLines()) {
+                Long providerId = line.getProviderId();
+                Counts orderCounts = byProvider.computeIfAbsent(providerId, id -> new Counts());
+                orderCounts.units += sign * line.getQuantity();
+                orderCounts.revenue = orderCounts.revenue.add(line.getLineTotal().multiply(BigDecimal.valueOf(sign)));
+
+                if (sign != 0) {
+                    Counts product = products.computeIfAbsent(providerId + "|" + date + "|" + line.getProductId(),
+                            key -> new Counts());
+                    product.providerId = providerId;
+                    product.date = date;
+                    product.productId = line.getProductId();
+                    product.units += sign * line.getQuantity();
+                    product.revenue = product.revenue.add(line.getLineTotal().multiply(BigDecimal.valueOf(sign)));
+                }
+            }
+
+            for (Map.Entry<Long, Counts> entry : byProvider.entrySet()) {
+                Long providerId = entry.getKey();
+                Counts orderCounts = entry.getValue();
+                if (sign != 0) {
+                    Counts day = daily.computeIfAbsent(providerId + "|" + date, key -> new Counts());
+                    day.providerId = providerId;
+                    day.date = date;
+                    day.add(placed ? 1 : 0, cancelled ? 1 : 0, orderCounts);
+
+                    Counts hourCounts = hourly.computeIfAbsent(providerId + "|" + hour, key -> new Counts());
+                    hourCounts.providerId = providerId;
+                    hourCounts.hour = hour;
+                    hourCounts.add(placed ? 1 : 0, cancelled ? 1 : 0, orderCounts);
+                }
+
+                if (event.getPreviousStatus() != null) {
+                    status(providerId, event.getPreviousStatus()).orders--;
+                }
+                status(providerId, event.getStatus()).orders++;
+            }
+        }
+
+        private Counts status(Long providerId, EOrderStatus status) {
+            Counts counts = statuses.computeIfAbsent(providerId + "|" + status, key -> new Counts());
+            counts.providerId = providerId;
+            counts.status = status;
+            return counts;
+        }
+    }
+
+    private static final class Counts {
+        private Long providerId;
+        private LocalDate date;
+        private LocalDateTime hour;
+        private Long productId;
+        private EOrderStatus status;
+        // Signed change in the number of orders in the status
+        private long orders;
+        private long placed;
+        private long cancelled;
+        private long units;
+        private BigDecimal revenue = BigDecimal.ZERO;
+
+        private void add(long placed, long cancelled, Counts order) {
+            this.placed += placed;
+            this.cancelled += cancelled;
+            this.units += order.units;
+            this.revenue = this.revenue.add(order.revenue);
+        }
+    }
+}
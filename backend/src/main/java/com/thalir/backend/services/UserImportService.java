@@ -0,0 +1,349 @@
+package com.thalir.backend.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thalir.backend.model.Role;
+import com.thalir.backend.payload.request.SignupRequest;
+import com.thalir.backend.payload.response.BulkImportResponse;
+import com.thalir.backend.payload.response.BulkImportRowResult;
+import com.thalir.backend.repository.UserIdentity;
+import com.thalir.backend.repository.UserRepository;
+import com.thalir.backend.security.services.RoleRegistry;
+
+/**
+ * Streams CSV or JSON-lines user records and imports them in chunks: one duplicate
+ * query per chunk, password hashing on a bounded worker pool and JDBC batch inserts.
+ * Inserts go through JdbcTemplate rather than JPA because the IDENTITY id on User
+ * prevents Hibernate from batching; with rewriteBatchedStatements the driver sends
+ * each chunk as a multi-row insert.
+ */
+@Service
+public class UserImportService {
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+
+    private static final String INSERT_USER = "INSERT INTO users (username, email, password, token_version) VALUES (?, ?, ?, 0)";
+    private static final String INSERT_USER_ROLE = "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+    private static final String SELECT_IDS = "SELECT id, username FROM users WHERE username IN (:usernames)";
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    RoleRegistry roleRegistry;
+
+    // Already runs on its own bounded pool, so bypass the request-path hashing executor
+    @Autowired
+    @Qualifier("bcryptPasswordEncoder")
+    PasswordEncoder encoder;
+
+    @Autowired
+    Validator validator;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Value("${auth.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${auth.import.hash-threads:0}")
+    private int hashThreads;
+
+    @Value("${auth.import.target-rows-per-second:200}")
+    private double targetRowsPerSecond;
+
+    private ExecutorService hashingPool;
+
+    @PostConstruct
+    public void init() {
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        hashingPool = Executors.newFixedThreadPool(threads);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdownNow();
+    }
+
+    public BulkImportResponse importUsers(InputStream input, boolean csv) throws IOException {
+        long started = System.nanoTime();
+        BulkImportResponse response = new BulkImportResponse();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (csv && lineNumber == 1 && line.toLowerCase(Locale.ROOT).startsWith("username"))) {
+                continue;
+            }
+
+            response.setTotal(response.getTotal() + 1);
+            ImportRow row = parse(lineNumber, line, csv, response);
+            if (row != null) {
+                chunk.add(row);
+            }
+            if (chunk.size() >= chunkSize) {
+                importChunk(chunk, response);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, response);
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        response.setElapsedMs(elapsedNanos / 1_000_000);
+        response.setRowsPerSecond(elapsedNanos > 0 ? response.getTotal() * 1e9 / elapsedNanos : 0);
+        if (response.getRowsPerSecond() < targetRowsPerSecond) {
+            logger.warn("User import ran below target: {} rows in {} ms ({} rows/s, target {})",
+                    response.getTotal(), response.getElapsedMs(), (long) response.getRowsPerSecond(),
+                    (long) targetRowsPerSecond);
+        } else {
+            logger.info("User import finished: {} rows in {} ms ({} rows/s)",
+                    response.getTotal(), response.getElapsedMs(), (long) response.getRowsPerSecond());
+        }
+        return response;
+    }
+
+    private ImportRow parse(long lineNumber, String line, boolean csv, BulkImportResponse response) {
+        SignupRequest request;
+        try {
+            request = csv ? parseCsv(line) : objectMapper.readValue(line, SignupRequest.class);
+        } catch (Exception e) {
+            fail(response, lineNumber, null, "Error: Could not parse row");
+            return null;
+        }
+
+        Set<ConstraintViolation<SignupRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<SignupRequest> violation = violations.iterator().next();
+            fail(response, lineNumber, request.getUsername(),
+                    "Error: " + violation.getPropertyPath() + " " + violation.getMessage());
+            return null;
+        }
+
+        return new ImportRow(lineNumber, request);
+    }
+
+    // username,email,password[,role1;role2] with optional double quotes around fields
+    private static SignupRequest parseCsv(String line) {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+
+        if (fields.size() < 3) {
+            throw new IllegalArgumentException("Expected username,email,password[,role]");
+        }
+
+        SignupRequest request = new SignupRequest();
+        request.setUsername(fields.get(0).trim());
+        request.setEmail(fields.get(1).trim());
+        request.setPassword(fields.get(2));
+        if (fields.size() > 3 && !fields.get(3).isBlank()) {
+            Set<String> roles = new HashSet<>();
+            for (String role : fields.get(3).split(";")) {
+                roles.add(role.trim());
+            }
+            request.setRole(roles);
+        }
+        return request;
+    }
+
+    private void importChunk(List<ImportRow> chunk, BulkImportResponse response) {
+        // Drop duplicates within the chunk, then against the table in one query
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        List<ImportRow> candidates = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (!usernames.add(row.username()) || !emails.add(row.email())) {
+                fail(response, row.line, row.request.getUsername(), "Error: Duplicate row in import");
+            } else {
+                candidates.add(row);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        for (UserIdentity identity : userRepository.findIdentities(usernames, emails)) {
+            takenUsernames.add(identity.getUsername().toLowerCase(Locale.ROOT));
+            takenEmails.add(identity.getEmail().toLowerCase(Locale.ROOT));
+        }
+
+        List<ImportRow> accepted = new ArrayList<>(candidates.size());
+        for (ImportRow row : candidates) {
+            if (takenUsernames.contains(row.username())) {
+                fail(response, row.line, row.request.getUsername(), "Error: Username is already taken!");
+            } else if (takenEmails.contains(row.email())) {
+                fail(response, row.line, row.request.getUsername(), "Error: Email is already in use!");
+            } else {
+                try {
+                    row.roles = roleRegistry.resolve(row.request.getRole());
+                    accepted.add(row);
+                } catch (RuntimeException e) {
+                    fail(response, row.line, row.request.getUsername(), e.getMessage());
+                }
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        if (!encodePasswords(accepted, response)) {
+            return;
+        }
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> insert(accepted));
+            for (ImportRow row : accepted) {
+                response.setCreated(response.getCreated() + 1);
+                response.getRows().add(new BulkImportRowResult(row.line, row.request.getUsername(), "CREATED",
+                        "User registered successfully!"));
+            }
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent signup claimed one of the names after the duplicate check
+            for (ImportRow row : accepted) {
+                fail(response, row.line, row.request.getUsername(),
+                        "Error: Username or email was taken during import, please retry");
+            }
+        }
+    }
+
+    private boolean encodePasswords(List<ImportRow> rows, BulkImportResponse response) {
+        List<Future<String>> hashes = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            String password = row.request.getPassword();
+            hashes.add(hashingPool.submit(() -> encoder.encode(password)));
+        }
+
+        try {
+            for (int i = 0; i < rows.size(); i++) {
+                rows.get(i).encodedPassword = hashes.get(i).get();
+            }
+            return true;
+        } catch (InterruptedException | ExecutionException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            hashes.forEach(hash -> hash.cancel(true));
+            for (ImportRow row : rows) {
+                fail(response, row.line, row.request.getUsername(), "Error: Could not hash password");
+            }
+            return false;
+        }
+    }
+
+    private void insert(List<ImportRow> rows) {
+        jdbcTemplate.batchUpdate(INSERT_USER, rows, rows.size(), (statement, row) -> {
+            statement.setString(1, row.request.getUsername());
+            statement.setString(2, row.request.getEmail());
+            statement.setString(3, row.encodedPassword);
+        });
+
+        List<String> usernames = new ArrayList<>(rows.size());
+        rows.forEach(row -> usernames.add(row.request.getUsername()));
+        Map<String, Long> ids = new HashMap<>();
+        namedParameterJdbcTemplate.query(SELECT_IDS, new MapSqlParameterSource("usernames", usernames),
+                resultSet -> {
+                    ids.put(resultSet.getString("username").toLowerCase(Locale.ROOT), resultSet.getLong("id"));
+                });
+
+        List<Object[]> userRoles = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            Long userId = ids.get(row.username());
+            for (Role role : row.roles) {
+                userRoles.add(new Object[] { userId, role.getId() });
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER_ROLE, userRoles);
+    }
+
+    private static void fail(BulkImportResponse response, long line, String username, String message) {
+        response.setFailed(response.getFailed() + 1);
+        response.getRows().add(new BulkImportRowResult(line, username, "FAILED", message));
+    }
+
+    private static final class ImportRow {
+        private final long line;
+        private final SignupRequest request;
+        private Set<Role> roles;
+        private String encodedPassword;
+
+        private ImportRow(long line, SignupRequest request) {
+            this.line = line;
+            this.request = request;
+        }
+
+        private String username() {
+            return request.getUsername().toLowerCase(Locale.ROOT);
+        }
+
+        private String email() {
+            return request.getEmail().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.thalir.backend.weather;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deterministic forecasts derived from the tile position, for tests, load tests and
+ * offline development (weather.provider=fixture). Counts fetches so callers can check
+ * how often upstream would have been hit.
+ */
+@Component
+@ConditionalOnProperty(name = "weather.provider", havingValue = "fixture")
+public class FixtureWeatherProvider implements WeatherProvider {
+    private final AtomicLong fetches = new AtomicLong();
+
+    @Override
+    public WeatherForecast fetch(RegionTile tile) {
+        fetches.incrementAndGet();
+        long seed = tile.getKey().hashCode();
+        LocalDate today = LocalDate.now();
+        List<WeatherForecast.Day> days = new ArrayList<>(7);
+        for (int i = 0; i < 7; i++) {
+            long value = Math.floorMod(seed * 31 + i, 100);
+            WeatherForecast.Day day = new WeatherForecast.Day();
+            day.setDate(today.plusDays(i));
+            day.setWeatherCode(new int[] { 0, 2, 3, 61, 95 }[(int) (value % 5)]);
+            day.setTemperatureMax(28 + value % 8);
+            day.setTemperatureMin(20 + value % 5);
+            day.setPrecipitationSum(value % 4 * 2.5);
+            day.setWindSpeedMax(5 + value % 15);
+            days.add(day);
+        }
+
+        WeatherForecast forecast = new WeatherForecast();
+        forecast.setLatitude(tile.getLatitude());
+        forecast.setLongitude(tile.getLongitude());
+        forecast.setFetchedAt(Instant.now());
+        forecast.setDays(days);
+        return forecast;
+    }
+
+    public long getFetchCount() {
+        return fetches.get();
+    }
+}
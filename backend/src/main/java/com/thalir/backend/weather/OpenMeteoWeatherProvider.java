@@ -0,0 +1,76 @@
+package com.thalir.backend.weather;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Component
+@ConditionalOnProperty(name = "weather.provider", havingValue = "open-meteo", matchIfMissing = true)
+public class OpenMeteoWeatherProvider implements WeatherProvider {
+    private static final String DAILY = "weathercode,temperature_2m_max,temperature_2m_min,precipitation_sum,windspeed_10m_max";
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Value("${weather.open-meteo.url:https://api.open-meteo.com/v1/forecast}")
+    private String url;
+
+    @Value("${weather.open-meteo.timeout-ms:5000}")
+    private long timeoutMs;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Override
+    public WeatherForecast fetch(RegionTile tile) throws IOException, InterruptedException {
+        URI uri = URI.create(String.format(Locale.ROOT, "%s?latitude=%.4f&longitude=%.4f&daily=%s&timezone=auto",
+                url, tile.getLatitude(), tile.getLongitude(), DAILY));
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMillis(timeoutMs))
+                .GET()
+                .build();
+
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException("open-meteo returned " + response.statusCode());
+        }
+
+        JsonNode daily = objectMapper.readTree(response.body()).path("daily");
+        JsonNode dates = daily.path("time");
+        List<WeatherForecast.Day> days = new ArrayList<>(dates.size());
+        for (int i = 0; i < dates.size(); i++) {
+            WeatherForecast.Day day = new WeatherForecast.Day();
+            day.setDate(LocalDate.parse(dates.get(i).asText()));
+            day.setWeatherCode(daily.path("weathercode").path(i).asInt());
+            day.setTemperatureMax(daily.path("temperature_2m_max").path(i).asDouble());
+            day.setTemperatureMin(daily.path("temperature_2m_min").path(i).asDouble());
+            day.setPrecipitationSum(daily.path("precipitation_sum").path(i).asDouble());
+            day.setWindSpeedMax(daily.path("windspeed_10m_max").path(i).asDouble());
+            days.add(day);
+        }
+
+        WeatherForecast forecast = new WeatherForecast();
+        forecast.setLatitude(tile.getLatitude());
+        forecast.setLongitude(tile.getLongitude());
+        forecast.setFetchedAt(Instant.now());
+        forecast.setDays(days);
+        return forecast;
+    }
+}
@@ -0,0 +1,25 @@
+package com.thalir.backend.weather;
+
+import java.util.Locale;
+
+import lombok.Data;
+
+/**
+ * A square of the latitude/longitude grid. Every location inside a tile is served the
+ * forecast fetched for the tile's centre.
+ */
+@Data
+public class RegionTile {
+    private final String key;
+    private final double latitude;
+    private final double longitude;
+
+    public static RegionTile of(double latitude, double longitude, double degrees) {
+        long row = (long) Math.floor(latitude / degrees);
+        long column = (long) Math.floor(longitude / degrees);
+        double centreLatitude = (row + 0.5) * degrees;
+        double centreLongitude = (column + 0.5) * degrees;
+        return new RegionTile(String.format(Locale.ROOT, "%.4f,%.4f", centreLatitude, centreLongitude),
+                centreLatitude, centreLongitude);
+    }
+}
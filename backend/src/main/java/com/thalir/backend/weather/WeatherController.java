@@ -0,0 +1,34 @@
+package com.thalir.backend.weather;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/weather")
+public class WeatherController {
+    @Autowired
+    WeatherService weatherService;
+
+    @GetMapping("/forecast")
+    public CompletableFuture<ResponseEntity<WeatherForecast>> forecast(
+            @RequestParam @DecimalMin("-90") @DecimalMax("90") double lat,
+            @RequestParam @DecimalMin("-180") @DecimalMax("180") double lon) {
+        return weatherService.forecast(lat, lon)
+                .thenApply(forecast -> ResponseEntity.ok()
+                        .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePrivate())
+                        .body(forecast));
+    }
+}
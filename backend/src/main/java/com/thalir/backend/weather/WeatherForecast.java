@@ -0,0 +1,30 @@
+package com.thalir.backend.weather;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class WeatherForecast {
+    // Centre of the region tile the forecast was fetched for
+    private double latitude;
+    private double longitude;
+    private Instant fetchedAt;
+    private List<Day> days;
+
+    @Data
+    @NoArgsConstructor
+    public static class Day {
+        private LocalDate date;
+        // WMO weather interpretation code
+        private int weatherCode;
+        private double temperatureMax;
+        private double temperatureMin;
+        private double precipitationSum;
+        private double windSpeedMax;
+    }
+}
@@ -0,0 +1,25 @@
+package com.thalir.backend.weather;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Component
+public class WeatherMetrics implements MeterBinder {
+    @Autowired
+    WeatherService weatherService;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("weather.tiles", weatherService, WeatherService::getTileCount)
+                .register(registry);
+        FunctionCounter.builder("weather.upstream.fetches", weatherService, WeatherService::getUpstreamFetchCount)
+                .register(registry);
+        FunctionCounter.builder("weather.upstream.failures", weatherService, WeatherService::getUpstreamFailureCount)
+                .register(registry);
+    }
+}
@@ -0,0 +1,10 @@
+package com.thalir.backend.weather;
+
+import java.io.IOException;
+
+/**
+ * Upstream source of daily forecasts, selected with weather.provider.
+ */
+public interface WeatherProvider {
+    WeatherForecast fetch(RegionTile tile) throws IOException, InterruptedException;
+}
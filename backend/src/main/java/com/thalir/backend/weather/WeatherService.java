@@ -0,0 +1,189 @@
+package com.thalir.backend.weather;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serves forecasts from memory, one per region tile. A tile is fetched the first time
+ * anyone asks for it; after that the fetcher refreshes it every refresh interval for
+ * as long as it keeps being requested, so upstream sees one request per tile and
+ * interval regardless of how many users are looking at it. Tiles nobody has requested
+ * for idle-seconds are dropped, and a forecast older than ttl-seconds is not served.
+ */
+@Service
+public class WeatherService {
+    private static final Logger logger = LoggerFactory.getLogger(WeatherService.class);
+
+    @Autowired
+    WeatherProvider provider;
+
+    @Value("${weather.tile-degrees:0.25}")
+    private double tileDegrees;
+
+    @Value("${weather.refresh-interval-seconds:900}")
+    private long refreshIntervalSeconds;
+
+    @Value("${weather.ttl-seconds:3600}")
+    private long ttlSeconds;
+
+    @Value("${weather.idle-seconds:21600}")
+    private long idleSeconds;
+
+    @Value("${weather.max-tiles:1000}")
+    private int maxTiles;
+
+    @Value("${weather.fetch-threads:2}")
+    private int fetchThreads;
+
+    private final ConcurrentMap<String, Tile> tiles = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, CompletableFuture<WeatherForecast>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong upstreamFetches = new AtomicLong();
+
+    private final AtomicLong upstreamFailures = new AtomicLong();
+
+    private ScheduledExecutorService fetcher;
+
+    @PostConstruct
+    public void start() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(fetchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "weather-fetcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        fetcher = executor;
+        fetcher.scheduleWithFixedDelay(this::refreshAll, refreshIntervalSeconds, refreshIntervalSeconds,
+                TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        fetcher.shutdownNow();
+    }
+
+    public CompletableFuture<WeatherForecast> forecast(double latitude, double longitude) {
+        RegionTile region = RegionTile.of(latitude, longitude, tileDegrees);
+        Tile tile = tiles.get(region.getKey());
+        if (tile == null) {
+            tile = register(region);
+        }
+        tile.lastRequested = System.nanoTime();
+
+        WeatherForecast forecast = tile.forecast;
+        if (forecast != null && isFresh(forecast)) {
+            return CompletableFuture.completedFuture(forecast);
+        }
+        return fetch(tile);
+    }
+
+    private Tile register(RegionTile region) {
+        if (tiles.size() >= maxTiles) {
+            // Make room by dropping the tile that has gone longest without a request
+            tiles.values().stream()
+                    .min(Comparator.comparingLong(candidate -> candidate.lastRequested))
+                    .ifPresent(oldest -> tiles.remove(oldest.region.getKey(), oldest));
+        }
+        return tiles.computeIfAbsent(region.getKey(), key -> new Tile(region));
+    }
+
+    // Concurrent requests for a tile that has no usable forecast share one upstream fetch
+    private CompletableFuture<WeatherForecast> fetch(Tile tile) {
+        String key = tile.region.getKey();
+        CompletableFuture<WeatherForecast> created = new CompletableFuture<>();
+        CompletableFuture<WeatherForecast> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        fetcher.execute(() -> {
+            try {
+                created.complete(refresh(tile));
+            } catch (Exception e) {
+                created.completeExceptionally(
+                        new WeatherUnavailableException("Weather is unavailable for " + key, e));
+            } finally {
+                inFlight.remove(key, created);
+            }
+        });
+        return created;
+    }
+
+    private WeatherForecast refresh(Tile tile) throws Exception {
+        upstreamFetches.incrementAndGet();
+        try {
+            WeatherForecast forecast = provider.fetch(tile.region);
+            tile.forecast = forecast;
+            return forecast;
+        } catch (Exception e) {
+            upstreamFailures.incrementAndGet();
+            throw e;
+        }
+    }
+
+    void refreshAll() {
+        long now = System.nanoTime();
+        for (Tile tile : tiles.values()) {
+            if (now - tile.lastRequested > TimeUnit.SECONDS.toNanos(idleSeconds)) {
+                tiles.remove(tile.region.getKey(), tile);
+                continue;
+            }
+            try {
+                refresh(tile);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // Keep serving the previous forecast until it passes its TTL
+                logger.warn("Weather refresh failed for tile {}: {}", tile.region.getKey(), e.toString());
+                if (tile.forecast != null && !isFresh(tile.forecast)) {
+                    tile.forecast = null;
+                }
+            }
+        }
+    }
+
+    private boolean isFresh(WeatherForecast forecast) {
+        return Duration.between(forecast.getFetchedAt(), Instant.now()).getSeconds() < ttlSeconds;
+    }
+
+    public int getTileCount() {
+        return tiles.size();
+    }
+
+    public long getUpstreamFetchCount() {
+        return upstreamFetches.get();
+    }
+
+    public long getUpstreamFailureCount() {
+        return upstreamFailures.get();
+    }
+
+    private static final class Tile {
+        private final RegionTile region;
+        private volatile WeatherForecast forecast;
+        private volatile long lastRequested = System.nanoTime();
+
+        private Tile(RegionTile region) {
+            this.region = region;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.thalir.backend.weather;
+
+public class WeatherUnavailableException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public WeatherUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,153 @@
+-- Schema as of the switch from hibernate ddl-auto to Flyway. Every statement is
+-- IF NOT EXISTS so databases that ddl-auto already created get the tables they lack.
+-- Tables that already exist are left as they are; version 1.1 (AdoptedSchemaMigration)
+-- then adds the columns they are missing.
+
+CREATE TABLE IF NOT EXISTS roles (
+    id INT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(20),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_roles_name UNIQUE (name)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(20) NOT NULL,
+    email VARCHAR(50) NOT NULL,
+    password VARCHAR(120) NOT NULL,
+    token_version INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id BIGINT NOT NULL,
+    role_id INT NOT NULL,
+    PRIMARY KEY (user_id, role_id),
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_user_roles_role FOREIGN KEY (role_id) REFERENCES roles (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    jti VARCHAR(64) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_revoked_tokens_jti UNIQUE (jti),
+    INDEX idx_revoked_tokens_expires_at (expires_at)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS jwt_signing_keys (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    kid VARCHAR(64) NOT NULL,
+    algorithm VARCHAR(16) NOT NULL,
+    public_key TEXT NOT NULL,
+    private_key TEXT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    retires_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_jwt_signing_keys_kid UNIQUE (kid),
+    INDEX idx_jwt_signing_keys_retires_at (retires_at)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS products (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    provider_id BIGINT NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    sku VARCHAR(40) NOT NULL,
+    category VARCHAR(20) NOT NULL,
+    price DECIMAL(10,2) NOT NULL,
+    quantity INTEGER NOT NULL,
+    minimum_stock INTEGER NOT NULL,
+    enabled BIT NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_products_provider_sku UNIQUE (provider_id, sku),
+    CONSTRAINT fk_products_provider FOREIGN KEY (provider_id) REFERENCES users (id),
+    INDEX idx_products_provider_id (provider_id, id),
+    INDEX idx_products_category_id (category, id),
+    INDEX idx_products_price_id (price, id),
+    INDEX idx_products_category_price_id (category, price, id)
+) ENGINE=InnoDB;
+
+-- Hibernate emulates the orders_seq and order_items_seq sequences with single-row tables
+CREATE TABLE IF NOT EXISTS orders_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO orders_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM orders_seq);
+
+CREATE TABLE IF NOT EXISTS order_items_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO order_items_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM order_items_seq);
+
+CREATE TABLE IF NOT EXISTS orders (
+    id BIGINT NOT NULL,
+    customer_id BIGINT NOT NULL,
+    idempotency_key VARCHAR(64) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    total_amount DECIMAL(12,2) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    version BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_orders_customer_idempotency_key UNIQUE (customer_id, idempotency_key),
+    CONSTRAINT fk_orders_customer FOREIGN KEY (customer_id) REFERENCES users (id),
+    INDEX idx_orders_customer_id (customer_id, id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS order_items (
+    id BIGINT NOT NULL,
+    order_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    provider_id BIGINT NOT NULL,
+    product_name VARCHAR(100) NOT NULL,
+    unit_price DECIMAL(10,2) NOT NULL,
+    quantity INTEGER NOT NULL,
+    line_total DECIMAL(12,2) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id),
+    INDEX idx_order_items_order_id (order_id),
+    INDEX idx_order_items_provider_id (provider_id, id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS provider_sales_daily (
+    provider_id BIGINT NOT NULL,
+    sales_date DATE NOT NULL,
+    orders_placed BIGINT NOT NULL,
+    orders_cancelled BIGINT NOT NULL,
+    units_sold BIGINT NOT NULL,
+    revenue DECIMAL(14,2) NOT NULL,
+    PRIMARY KEY (provider_id, sales_date)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS provider_sales_hourly (
+    provider_id BIGINT NOT NULL,
+    sales_hour DATETIME(6) NOT NULL,
+    orders_placed BIGINT NOT NULL,
+    orders_cancelled BIGINT NOT NULL,
+    units_sold BIGINT NOT NULL,
+    revenue DECIMAL(14,2) NOT NULL,
+    PRIMARY KEY (provider_id, sales_hour)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS product_sales_daily (
+    provider_id BIGINT NOT NULL,
+    sales_date DATE NOT NULL,
+    product_id BIGINT NOT NULL,
+    units_sold BIGINT NOT NULL,
+    revenue DECIMAL(14,2) NOT NULL,
+    PRIMARY KEY (provider_id, sales_date, product_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS provider_order_status (
+    provider_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    orders BIGINT NOT NULL,
+    PRIMARY KEY (provider_id, status)
+) ENGINE=InnoDB;
@@ -0,0 +1,26 @@
+-- Default roles and accounts, applied once and recorded in flyway_schema_history so
+-- later starts skip it. INSERT IGNORE leaves rows that already exist untouched.
+-- Password for every default account is "password123" (BCrypt, cost 10).
+
+INSERT IGNORE INTO roles (name) VALUES
+    ('ROLE_FARMER'),
+    ('ROLE_CONSUMER'),
+    ('ROLE_PROVIDER'),
+    ('ROLE_ADMIN');
+
+INSERT IGNORE INTO users (username, email, password, token_version) VALUES
+    ('admin', 'admin@thalir.com', '$2a$10$FONJRCxZMgKMhn/8YEQlfOBnlSz/C8wa6eqpAp/IYnv8GkrCnFwS6', 0),
+    ('farmer', 'farmer@thalir.com', '$2a$10$FONJRCxZMgKMhn/8YEQlfOBnlSz/C8wa6eqpAp/IYnv8GkrCnFwS6', 0),
+    ('consumer', 'consumer@thalir.com', '$2a$10$FONJRCxZMgKMhn/8YEQlfOBnlSz/C8wa6eqpAp/IYnv8GkrCnFwS6', 0),
+    ('provider', 'provider@thalir.com', '$2a$10$FONJRCxZMgKMhn/8YEQlfOBnlSz/C8wa6eqpAp/IYnv8GkrCnFwS6', 0);
+
+INSERT IGNORE INTO user_roles (user_id, role_id)
+SELECT u.id, r.id
+FROM users u
+JOIN roles r ON r.name = CASE u.username
+    WHEN 'admin' THEN 'ROLE_ADMIN'
+    WHEN 'farmer' THEN 'ROLE_FARMER'
+    WHEN 'consumer' THEN 'ROLE_CONSUMER'
+    WHEN 'provider' THEN 'ROLE_PROVIDER'
+END
+WHERE u.username IN ('admin', 'farmer', 'consumer', 'provider');
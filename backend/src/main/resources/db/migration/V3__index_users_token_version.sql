@@ -0,0 +1,2 @@
+-- Every instance polls users with token_version > 0 to pick up session revocations
+CREATE INDEX idx_users_token_version ON users (token_version);
@@ -0,0 +1,8 @@
+-- Keys are published in the JWKS before they start signing, and each rotation takes the
+-- next generation so only one instance can create a given key
+ALTER TABLE jwt_signing_keys ADD COLUMN activates_at DATETIME(6) NULL;
+ALTER TABLE jwt_signing_keys ADD COLUMN generation BIGINT NULL;
+UPDATE jwt_signing_keys SET activates_at = created_at, generation = id;
+ALTER TABLE jwt_signing_keys MODIFY activates_at DATETIME(6) NOT NULL;
+ALTER TABLE jwt_signing_keys MODIFY generation BIGINT NOT NULL;
+ALTER TABLE jwt_signing_keys ADD CONSTRAINT uk_jwt_signing_keys_generation UNIQUE (generation);
@@ -0,0 +1,8 @@
+-- Catalog listings only show enabled products, so the seek indexes lead with enabled
+-- and a page never walks past disabled rows
+ALTER TABLE products DROP INDEX idx_products_category_id;
+CREATE INDEX idx_products_category_id ON products (enabled, category, id);
+ALTER TABLE products DROP INDEX idx_products_price_id;
+CREATE INDEX idx_products_price_id ON products (enabled, price, id);
+ALTER TABLE products DROP INDEX idx_products_category_price_id;
+CREATE INDEX idx_products_category_price_id ON products (enabled, category, price, id);
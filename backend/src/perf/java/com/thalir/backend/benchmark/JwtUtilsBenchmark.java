@@ -0,0 +1,90 @@
+package com.thalir.backend.benchmark;
+
+import java.security.Key;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.thalir.backend.security.jwt.JwtKeyManager;
+import com.thalir.backend.security.jwt.JwtUtils;
+import com.thalir.backend.security.jwt.SecurityEventLogger;
+import com.thalir.backend.security.services.AuthMetrics;
+import com.thalir.backend.security.services.RevokedTokenStore;
+import com.thalir.backend.security.services.TokenVersionService;
+import com.thalir.backend.security.services.UserDetailsImpl;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Compares the per-request work AuthTokenFilter used to do (decode the secret and
+ * build a parser twice per token) against the cached key and single parse in JwtUtils.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class JwtUtilsBenchmark {
+    private static final String SECRET = "thalirsecretkeythalirsecretkeythalirsecretkeythalirsecretkey";
+
+    private JwtUtils jwtUtils;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtUtils = new JwtUtils();
+        JwtKeyManager keyManager = new JwtKeyManager();
+        ReflectionTestUtils.setField(keyManager, "signingAlgorithm", "HS256");
+        ReflectionTestUtils.setField(keyManager, "jwtSecret", SECRET);
+        keyManager.init();
+        ReflectionTestUtils.setField(jwtUtils, "keyManager", keyManager);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86400000);
+        ReflectionTestUtils.setField(jwtUtils, "tokenVersionService", new TokenVersionService());
+        ReflectionTestUtils.setField(jwtUtils, "authMetrics", new AuthMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(jwtUtils, "securityEvents", new SecurityEventLogger());
+        RevokedTokenStore revokedTokenStore = new RevokedTokenStore();
+        ReflectionTestUtils.setField(revokedTokenStore, "bucketMinutes", 60L);
+        ReflectionTestUtils.setField(jwtUtils, "revokedTokenStore", revokedTokenStore);
+        jwtUtils.init();
+
+        UserDetailsImpl principal = new UserDetailsImpl(1L, "farmer", "farmer@thalir.com", null, List.of());
+        token = jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    @Benchmark
+    public String legacyValidateThenParse() {
+        Jwts.parserBuilder().setSigningKey(legacyKey()).build().parse(token);
+        return Jwts.parserBuilder().setSigningKey(legacyKey()).build()
+                .parseClaimsJws(token).getBody().getSubject();
+    }
+
+    @Benchmark
+    public String cachedSingleParse() {
+        Claims claims = jwtUtils.parseValidClaims(token);
+        return claims.getSubject();
+    }
+
+    private static Key legacyKey() {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+    }
+}
@@ -0,0 +1,271 @@
+package com.thalir.backend.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Drives sign-in and authenticated requests against a running backend at a fixed
+ * concurrency and reports throughput and latency percentiles per operation.
+ *
+ * To compare request execution modes, run the backend once with the default thread
+ * pool and once with --spring.profiles.active=virtual, and run the driver against
+ * each with a different -Dload.label. Results are kept under target/loadtest and the
+ * driver prints a side-by-side comparison once a second label has been recorded:
+ *
+ * mvn -Pperf,loadtest test-compile exec:exec -Dload.label=platform -Dload.concurrency=400
+ * mvn -Pperf,loadtest test-compile exec:exec -Dload.label=virtual -Dload.concurrency=400
+ *
+ * All driver traffic comes from one address as one user, so start the backend with
+ * --auth.rate-limit.enabled=false or most sign-ins will be answered with 429.
+ */
+public class AuthLoadDriver {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String baseUrl;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+    private final String username;
+    private final String password;
+    private final String authenticatedPath;
+    private final double signinRatio;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public AuthLoadDriver(String baseUrl, int concurrency, Duration warmup, Duration duration, String username,
+            String password, String authenticatedPath, double signinRatio) {
+        this.baseUrl = baseUrl;
+        this.concurrency = concurrency;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.username = username;
+        this.password = password;
+        this.authenticatedPath = authenticatedPath;
+        this.signinRatio = signinRatio;
+    }
+
+    public static void main(String[] args) throws Exception {
+        AuthLoadDriver driver = new AuthLoadDriver(
+                System.getProperty("load.url", "http://localhost:8080"),
+                Integer.getInteger("load.concurrency", 200),
+                Duration.ofSeconds(Long.getLong("load.warmup-seconds", 10L)),
+                Duration.ofSeconds(Long.getLong("load.duration-seconds", 30L)),
+                System.getProperty("load.username", "farmer"),
+                System.getProperty("load.password", "password123"),
+                System.getProperty("load.path", ""),
+                Double.parseDouble(System.getProperty("load.signin-ratio", "0.2")));
+
+        String label = System.getProperty("load.label", "default");
+        Map<String, Result> results = driver.run();
+        print(label, results);
+
+        Path directory = Paths.get("target", "loadtest");
+        save(directory.resolve(label + ".properties"), results);
+        compareWithOtherRuns(directory, label, results);
+    }
+
+    public Map<String, Result> run() throws Exception {
+        String token = signIn();
+        if (!warmup.isZero()) {
+            runFor(warmup, token);
+        }
+        return runFor(duration, token);
+    }
+
+    private Map<String, Result> runFor(Duration length, String token) throws Exception {
+        long deadline = System.nanoTime() + length.toNanos();
+        boolean authenticated = !authenticatedPath.isEmpty();
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<LatencyRecorder[]>> futures = new ArrayList<>(concurrency);
+        long started = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(workers.submit(() -> {
+                LatencyRecorder signins = new LatencyRecorder();
+                LatencyRecorder requests = new LatencyRecorder();
+                while (System.nanoTime() < deadline) {
+                    if (!authenticated || ThreadLocalRandom.current().nextDouble() < signinRatio) {
+                        send(signInRequest(), signins);
+                    } else {
+                        send(authenticatedRequest(token), requests);
+                    }
+                }
+                return new LatencyRecorder[] { signins, requests };
+            }));
+        }
+
+        List<LatencyRecorder> signins = new ArrayList<>();
+        List<LatencyRecorder> requests = new ArrayList<>();
+        for (Future<LatencyRecorder[]> future : futures) {
+            LatencyRecorder[] recorded = future.get();
+            signins.add(recorded[0]);
+            requests.add(recorded[1]);
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        workers.shutdown();
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        results.put("signin", new Result(LatencyRecorder.merge(signins), seconds));
+        if (authenticated) {
+            results.put("authenticated", new Result(LatencyRecorder.merge(requests), seconds));
+        }
+        return results;
+    }
+
+    private void send(HttpRequest request, LatencyRecorder recorder) {
+        long started = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 400) {
+                recorder.error();
+                return;
+            }
+            recorder.record(System.nanoTime() - started);
+        } catch (IOException e) {
+            recorder.error();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String signIn() throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(signInRequest(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Sign-in failed with status " + response.statusCode()
+                    + "; check load.username and load.password");
+        }
+        return MAPPER.readTree(response.body()).get("token").asText();
+    }
+
+    private HttpRequest signInRequest() {
+        String body = MAPPER.createObjectNode()
+                .put("username", username)
+                .put("password", password)
+                .toString();
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/signin"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest authenticatedRequest(String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + authenticatedPath))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    static void print(String label, Map<String, Result> results) {
+        System.out.printf("%n== %s ==%n", label);
+        System.out.printf("%-14s %10s %8s %10s %10s %10s %10s%n", "operation", "req/s", "errors", "p50 ms",
+                "p95 ms", "p99 ms", "p99.9 ms");
+        results.forEach((operation, result) -> System.out.printf("%-14s %10.1f %8d %10.2f %10.2f %10.2f %10.2f%n",
+                operation, result.throughput, result.errors, result.p50, result.p95, result.p99, result.p999));
+    }
+
+    private static void save(Path file, Map<String, Result> results) throws IOException {
+        Properties properties = new Properties();
+        results.forEach((operation, result) -> result.store(operation, properties));
+        Files.createDirectories(file.getParent());
+        try (OutputStream out = Files.newOutputStream(file)) {
+            properties.store(out, "AuthLoadDriver results");
+        }
+    }
+
+    private static void compareWithOtherRuns(Path directory, String label, Map<String, Result> results)
+            throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path other : (Iterable<Path>) files::iterator) {
+                String otherLabel = other.getFileName().toString().replace(".properties", "");
+                if (otherLabel.equals(label)) {
+                    continue;
+                }
+                Properties properties = new Properties();
+                try (InputStream in = Files.newInputStream(other)) {
+                    properties.load(in);
+                }
+                System.out.printf("%n== %s vs %s ==%n", label, otherLabel);
+                results.forEach((operation, result) -> {
+                    Result previous = Result.load(operation, properties);
+                    if (previous != null) {
+                        System.out.printf("%-14s req/s %+.1f%%  p99 %+.1f%%%n", operation,
+                                change(previous.throughput, result.throughput), change(previous.p99, result.p99));
+                    }
+                });
+            }
+        }
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) / before * 100;
+    }
+
+    public static final class Result {
+        final double throughput;
+        final long errors;
+        final double p50;
+        final double p95;
+        final double p99;
+        final double p999;
+
+        Result(LatencyRecorder recorder, double seconds) {
+            this(recorder.count() / seconds, recorder.errors(), recorder.percentileMillis(50),
+                    recorder.percentileMillis(95), recorder.percentileMillis(99), recorder.percentileMillis(99.9));
+        }
+
+        Result(double throughput, long errors, double p50, double p95, double p99, double p999) {
+            this.throughput = throughput;
+            this.errors = errors;
+            this.p50 = p50;
+            this.p95 = p95;
+            this.p99 = p99;
+            this.p999 = p999;
+        }
+
+        void store(String operation, Properties properties) {
+            properties.setProperty(operation + ".throughput", String.valueOf(throughput));
+            properties.setProperty(operation + ".errors", String.valueOf(errors));
+            properties.setProperty(operation + ".p50", String.valueOf(p50));
+            properties.setProperty(operation + ".p95", String.valueOf(p95));
+            properties.setProperty(operation + ".p99", String.valueOf(p99));
+            properties.setProperty(operation + ".p999", String.valueOf(p999));
+        }
+
+        static Result load(String operation, Properties properties) {
+            if (!properties.containsKey(operation + ".throughput")) {
+                return null;
+            }
+            return new Result(
+                    Double.parseDouble(properties.getProperty(operation + ".throughput")),
+                    Long.parseLong(properties.getProperty(operation + ".errors", "0")),
+                    Double.parseDouble(properties.getProperty(operation + ".p50")),
+                    Double.parseDouble(properties.getProperty(operation + ".p95")),
+                    Double.parseDouble(properties.getProperty(operation + ".p99")),
+                    Double.parseDouble(properties.getProperty(operation + ".p999")));
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.thalir.backend.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thalir.backend.ThalirApplication;
+
+/**
+ * Boots the backend on an in-memory H2 database, drives a mix of sign-ins, signups
+ * and authenticated requests at a fixed concurrency, and compares throughput and
+ * latency per operation with a stored baseline. Exits non-zero, failing the build,
+ * when an operation's throughput drops or its p50, p95 or p99 grows by more than
+ * slo.tolerance, or when its error rate exceeds slo.max-error-rate. p99.9 is
+ * reported but not gated; it is too noisy over a run this short.
+ *
+ * mvn -Pperf,slo verify
+ * mvn -Pperf,slo verify -Dslo.update-baseline=true
+ *
+ * Every run writes its own results, in baseline form, to slo.baseline-output under
+ * target/. The committed baseline is never written. The baseline is only meaningful
+ * on the machine that recorded it, so record it on the CI runner and commit the file
+ * it writes. Until one is committed the run only reports; set
+ * slo.require-baseline=true to fail instead when it is missing.
+ */
+public class AuthLoadTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String USERNAME = "farmer";
+    private static final String PASSWORD = "password123";
+
+    private final String baseUrl;
+    private final int concurrency;
+    private final double signinRatio;
+    private final double signupRatio;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final AtomicLong signups = new AtomicLong();
+
+    private final String runTag = UUID.randomUUID().toString().substring(0, 4);
+
+    public AuthLoadTest(String baseUrl, int concurrency, double signinRatio, double signupRatio) {
+        this.baseUrl = baseUrl;
+        this.concurrency = concurrency;
+        this.signinRatio = signinRatio;
+        this.signupRatio = signupRatio;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path baseline = Paths.get(System.getProperty("slo.baseline",
+                "src/perf/resources/loadtest/auth-baseline.properties"));
+        Path output = Paths.get(System.getProperty("slo.baseline-output",
+                "target/loadtest/auth-baseline.properties"));
+        boolean updateBaseline = Boolean.getBoolean("slo.update-baseline");
+        boolean requireBaseline = Boolean.getBoolean("slo.require-baseline");
+        double tolerance = Double.parseDouble(System.getProperty("slo.tolerance", "0.25"));
+        double maxErrorRate = Double.parseDouble(System.getProperty("slo.max-error-rate", "0.001"));
+        double minDeltaMillis = Double.parseDouble(System.getProperty("slo.min-delta-ms", "1"));
+        Duration duration = Duration.ofSeconds(Long.getLong("slo.duration-seconds", 30L));
+
+        Map<String, AuthLoadDriver.Result> results;
+        try (ConfigurableApplicationContext context = SpringApplication.run(ThalirApplication.class,
+                "--spring.datasource.url=" + String.format(DbLoadBenchmark.H2_URL, "authload"),
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--server.port=0",
+                "--management.server.port=0",
+                // All traffic comes from one address, and forecasts must not depend on the network
+                "--auth.rate-limit.enabled=false",
+                "--weather.provider=fixture",
+                "--auth.hashing.calibrate=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN")) {
+            String port = context.getEnvironment().getProperty("local.server.port");
+            AuthLoadTest test = new AuthLoadTest("http://localhost:" + port,
+                    Integer.getInteger("slo.concurrency", 32),
+                    Double.parseDouble(System.getProperty("slo.signin-ratio", "0.2")),
+                    Double.parseDouble(System.getProperty("slo.signup-ratio", "0.05")));
+            results = test.run(Duration.ofSeconds(Long.getLong("slo.warmup-seconds", 10L)), duration);
+        }
+        AuthLoadDriver.print("auth", results);
+        save(output, results);
+
+        if (updateBaseline) {
+            System.out.printf("%nBaseline recorded in %s; copy it to %s and commit it%n", output, baseline);
+            return;
+        }
+        if (!Files.exists(baseline)) {
+            System.out.printf("%nNo baseline at %s. This run's results are in %s; record the baseline on the "
+                    + "CI runner with -Dslo.update-baseline=true and commit it there%n", baseline, output);
+            if (requireBaseline) {
+                System.exit(1);
+            }
+            System.out.println("Not gating until a baseline is committed");
+            return;
+        }
+
+        List<String> violations = new ArrayList<>();
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(baseline)) {
+            properties.load(in);
+        }
+        results.forEach((operation, result) -> {
+            double succeeded = result.throughput * duration.getSeconds();
+            double errorRate = result.errors / Math.max(1, succeeded + result.errors);
+            if (errorRate > maxErrorRate) {
+                violations.add(String.format("%s error rate %.4f exceeds %.4f", operation, errorRate, maxErrorRate));
+            }
+            AuthLoadDriver.Result previous = AuthLoadDriver.Result.load(operation, properties);
+            if (previous == null) {
+                return;
+            }
+            if (result.throughput < previous.throughput * (1 - tolerance)) {
+                violations.add(String.format("%s throughput %.1f req/s, baseline %.1f", operation,
+                        result.throughput, previous.throughput));
+            }
+            checkLatency(violations, operation, "p50", result.p50, previous.p50, tolerance, minDeltaMillis);
+            checkLatency(violations, operation, "p95", result.p95, previous.p95, tolerance, minDeltaMillis);
+            checkLatency(violations, operation, "p99", result.p99, previous.p99, tolerance, minDeltaMillis);
+        });
+
+        if (!violations.isEmpty()) {
+            System.out.printf("%nRegressions against %s:%n", baseline);
+            violations.forEach(violation -> System.out.println("  " + violation));
+            System.exit(1);
+        }
+        System.out.printf("%nWithin %.0f%% of %s%n", tolerance * 100, baseline);
+    }
+
+    // Sub-millisecond percentiles move by more than any sensible ratio from run to run
+    private static void checkLatency(List<String> violations, String operation, String percentile, double current,
+            double baseline, double tolerance, double minDeltaMillis) {
+        if (current > baseline * (1 + tolerance) && current - baseline > minDeltaMillis) {
+            violations.add(String.format("%s %s %.2f ms, baseline %.2f ms", operation, percentile, current,
+                    baseline));
+        }
+    }
+
+    public Map<String, AuthLoadDriver.Result> run(Duration warmup, Duration duration) throws Exception {
+        String token = signIn();
+        if (!warmup.isZero()) {
+            runFor(warmup, token);
+        }
+        return runFor(duration, token);
+    }
+
+    private Map<String, AuthLoadDriver.Result> runFor(Duration length, String token) throws Exception {
+        long deadline = System.nanoTime() + length.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<LatencyRecorder[]>> futures = new ArrayList<>(concurrency);
+        long started = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(workers.submit(() -> {
+                LatencyRecorder signins = new LatencyRecorder();
+                LatencyRecorder signupsRecorded = new LatencyRecorder();
+                LatencyRecorder requests = new LatencyRecorder();
+                while (System.nanoTime() < deadline) {
+                    double pick = ThreadLocalRandom.current().nextDouble();
+                    if (pick < signinRatio) {
+                        send(signInRequest(), signins);
+                    } else if (pick < signinRatio + signupRatio) {
+                        send(signUpRequest(), signupsRecorded);
+                    } else {
+                        send(authenticatedRequest(token), requests);
+                    }
+                }
+                return new LatencyRecorder[] { signins, signupsRecorded, requests };
+            }));
+        }
+
+        List<List<LatencyRecorder>> recorded = List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        for (Future<LatencyRecorder[]> future : futures) {
+            LatencyRecorder[] recorders = future.get();
+            for (int i = 0; i < recorders.length; i++) {
+                recorded.get(i).add(recorders[i]);
+            }
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        workers.shutdown();
+
+        Map<String, AuthLoadDriver.Result> results = new LinkedHashMap<>();
+        results.put("signin", new AuthLoadDriver.Result(LatencyRecorder.merge(recorded.get(0)), seconds));
+        results.put("signup", new AuthLoadDriver.Result(LatencyRecorder.merge(recorded.get(1)), seconds));
+        results.put("authenticated", new AuthLoadDriver.Result(LatencyRecorder.merge(recorded.get(2)), seconds));
+        return results;
+    }
+
+    private void send(HttpRequest request, LatencyRecorder recorder) {
+        long started = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 400) {
+                recorder.error();
+                return;
+            }
+            recorder.record(System.nanoTime() - started);
+        } catch (IOException e) {
+            recorder.error();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String signIn() throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(signInRequest(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Sign-in failed with status " + response.statusCode());
+        }
+        return MAPPER.readTree(response.body()).get("token").asText();
+    }
+
+    private HttpRequest signInRequest() {
+        String body = MAPPER.createObjectNode()
+                .put("username", USERNAME)
+                .put("password", PASSWORD)
+                .toString();
+        return post("/api/auth/signin", body);
+    }
+
+    // Names stay within the 20-character username column and never repeat within a run
+    private HttpRequest signUpRequest() {
+        String username = "lt" + runTag + Long.toString(signups.incrementAndGet(), 36);
+        String body = MAPPER.createObjectNode()
+                .put("username", username)
+                .put("email", username + "@loadtest.test")
+                .put("password", PASSWORD)
+                .toString();
+        return post("/api/auth/signup", body);
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    // Goes through AuthTokenFilter and JwtUtils; the fixture weather provider answers without I/O
+    private HttpRequest authenticatedRequest(String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/weather/forecast?lat=11.0&lon=76.9"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private static void save(Path file, Map<String, AuthLoadDriver.Result> results) throws IOException {
+        Properties properties = new Properties();
+        results.forEach((operation, result) -> result.store(operation, properties));
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (OutputStream out = Files.newOutputStream(file)) {
+            properties.store(out, "AuthLoadTest baseline; record with -Dslo.update-baseline=true");
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.thalir.backend.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.thalir.backend.ThalirApplication;
+import com.thalir.backend.model.ERole;
+import com.thalir.backend.model.Role;
+import com.thalir.backend.model.User;
+import com.thalir.backend.repository.RoleRepository;
+import com.thalir.backend.repository.UserRepository;
+
+/**
+ * Runs the user-table work behind sign-in, signup and bulk import through the real
+ * repositories, once per database configuration, and reports throughput and latency
+ * for each:
+ *
+ * login      UserRepository.findCredentialsByUsername for a random seeded user
+ * signup     RoleRepository.findByName, then UserRepository.saveAndFlush
+ * bulk-jdbc  one JDBC batch of dbload.bulk-size users and their roles, as UserImportService inserts
+ * bulk-jpa   UserRepository.saveAll of dbload.bulk-size users with roles in one transaction
+ *
+ * Configurations are "untuned" (no JDBC batching), "default" (application.properties)
+ * and "db-tuned" (that Spring profile). Each runs in its own JVM, so JIT warm-up from
+ * one configuration does not speed up the next, and boots the backend on a fresh
+ * in-memory H2 database in MySQL mode, migrated by the Flyway scripts, so no server is
+ * needed. -Ddbload.fork=false runs them one after another in this JVM instead:
+ *
+ * mvn -Pperf test-compile exec:exec -Dperf.main=com.thalir.backend.loadtest.DbLoadBenchmark -Dperf.args=
+ *
+ * H2 ignores the Connector/J settings (statement caching, rewriteBatchedStatements),
+ * so there the comparison shows pool sizing and Hibernate batching. To measure those
+ * too, set -Ddbload.url, -Ddbload.username and -Ddbload.password to a scratch MySQL
+ * database; rows are added under unique names and never removed.
+ */
+public class DbLoadBenchmark {
+    static final String H2_URL = "jdbc:h2:mem:%s;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final String INSERT_USER = "INSERT INTO users (username, email, password, token_version) VALUES (?, ?, ?, 0)";
+    private static final String INSERT_USER_ROLE = "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+    private static final String SELECT_IDS = "SELECT id FROM users WHERE username IN (:usernames)";
+
+    // BCrypt of "password123"; hashing cost is not what this benchmark measures
+    private static final String PASSWORD_HASH = "$2a$10$FONJRCxZMgKMhn/8YEQlfOBnlSz/C8wa6eqpAp/IYnv8GkrCnFwS6";
+
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int seedUsers;
+    private final int bulkSize;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final String runTag = UUID.randomUUID().toString().substring(0, 4);
+
+    private UserRepository userRepository;
+    private RoleRepository roleRepository;
+    private JdbcTemplate jdbcTemplate;
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private List<String> seeded;
+    private Long farmerRoleId;
+
+    public DbLoadBenchmark(int concurrency, Duration warmup, Duration duration, int seedUsers, int bulkSize) {
+        this.concurrency = concurrency;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.seedUsers = seedUsers;
+        this.bulkSize = bulkSize;
+    }
+
+    public static void main(String[] args) throws Exception {
+        DbLoadBenchmark benchmark = new DbLoadBenchmark(
+                Integer.getInteger("dbload.concurrency", 16),
+                Duration.ofSeconds(Long.getLong("dbload.warmup-seconds", 3L)),
+                Duration.ofSeconds(Long.getLong("dbload.duration-seconds", 10L)),
+                Integer.getInteger("dbload.seed-users", 10000),
+                Integer.getInteger("dbload.bulk-size", 500));
+        String url = System.getProperty("dbload.url", "");
+        String username = System.getProperty("dbload.username", url.isEmpty() ? "sa" : "root");
+        String password = System.getProperty("dbload.password", "");
+
+        Map<String, List<String>> configurations = new LinkedHashMap<>();
+        configurations.put("untuned", List.of(
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=0",
+                "--spring.jpa.properties.hibernate.order_inserts=false",
+                "--spring.datasource.hikari.data-source-properties.rewriteBatchedStatements=false"));
+        configurations.put("default", List.of());
+        configurations.put("db-tuned", List.of("--spring.profiles.active=db-tuned"));
+        List<String> selected = List.of(System.getProperty("dbload.configs", String.join(",", configurations.keySet()))
+                .split(","));
+
+        for (String selection : selected) {
+            if (!configurations.containsKey(selection.trim())) {
+                throw new IllegalArgumentException(
+                        "Unknown configuration " + selection.trim() + "; use " + configurations.keySet());
+            }
+        }
+        if (Boolean.parseBoolean(System.getProperty("dbload.fork", "true"))) {
+            for (String selection : selected) {
+                fork(selection.trim());
+            }
+            return;
+        }
+
+        for (String selection : selected) {
+            String name = selection.trim();
+            List<String> arguments = new ArrayList<>(configurations.get(name));
+            arguments.add("--spring.datasource.url=" + url(url, name));
+            arguments.add("--spring.datasource.username=" + username);
+            arguments.add("--spring.datasource.password=" + password);
+            arguments.add("--server.port=0");
+            arguments.add("--management.server.port=0");
+            arguments.add("--auth.hashing.calibrate=false");
+            arguments.add("--spring.main.banner-mode=off");
+            arguments.add("--logging.level.root=WARN");
+
+            try (ConfigurableApplicationContext context = SpringApplication.run(ThalirApplication.class,
+                    arguments.toArray(new String[0]))) {
+                AuthLoadDriver.print(name, benchmark.run(context));
+            }
+        }
+    }
+
+    // Same JVM options and classpath as this one, with dbload.configs narrowed to the configuration
+    private static void fork(String configuration) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.add("-Ddbload.fork=false");
+        command.add("-Ddbload.configs=" + configuration);
+        command.add("-classpath");
+        command.add(System.getProperty("java.class.path"));
+        command.add(DbLoadBenchmark.class.getName());
+
+        int exitCode = new ProcessBuilder(command).inheritIO().start().waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException("Configuration " + configuration + " failed with exit code " + exitCode);
+        }
+    }
+
+    // A fresh H2 database per configuration; on MySQL the untuned run also drops the URL's batch rewriting
+    private static String url(String url, String configuration) {
+        if (url.isEmpty()) {
+            return String.format(H2_URL, "dbload_" + configuration.replace('-', '_'));
+        }
+        return configuration.equals("untuned")
+                ? url.replace("rewriteBatchedStatements=true", "rewriteBatchedStatements=false")
+                : url;
+    }
+
+    public Map<String, AuthLoadDriver.Result> run(ConfigurableApplicationContext context) throws Exception {
+        userRepository = context.getBean(UserRepository.class);
+        roleRepository = context.getBean(RoleRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        namedParameterJdbcTemplate = context.getBean(NamedParameterJdbcTemplate.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        farmerRoleId = roleRepository.findByName(ERole.ROLE_FARMER).orElseThrow().getId().longValue();
+
+        seeded = new ArrayList<>(seedUsers);
+        while (seeded.size() < seedUsers) {
+            List<String> chunk = nextNames(Math.min(bulkSize, seedUsers - seeded.size()));
+            bulkJdbc(chunk);
+            seeded.addAll(chunk);
+        }
+
+        Map<String, AuthLoadDriver.Result> results = new LinkedHashMap<>();
+        results.put("login", measure(this::login));
+        results.put("signup", measure(this::signup));
+        results.put("bulk-jdbc", measure(() -> bulkJdbc(nextNames(bulkSize))));
+        results.put("bulk-jpa", measure(this::bulkJpa));
+        return results;
+    }
+
+    private AuthLoadDriver.Result measure(Runnable operation) throws Exception {
+        if (!warmup.isZero()) {
+            runFor(warmup, operation);
+        }
+        long started = System.nanoTime();
+        LatencyRecorder recorded = runFor(duration, operation);
+        return new AuthLoadDriver.Result(recorded, (System.nanoTime() - started) / 1e9);
+    }
+
+    private LatencyRecorder runFor(Duration length, Runnable operation) throws Exception {
+        long deadline = System.nanoTime() + length.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<LatencyRecorder>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(workers.submit(() -> {
+                LatencyRecorder recorder = new LatencyRecorder();
+                while (System.nanoTime() < deadline) {
+                    long started = System.nanoTime();
+                    try {
+                        operation.run();
+                        recorder.record(System.nanoTime() - started);
+                    } catch (RuntimeException e) {
+                        recorder.error();
+                    }
+                }
+                return recorder;
+            }));
+        }
+
+        List<LatencyRecorder> recorders = new ArrayList<>(concurrency);
+        for (Future<LatencyRecorder> future : futures) {
+            recorders.add(future.get());
+        }
+        workers.shutdown();
+        return LatencyRecorder.merge(recorders);
+    }
+
+    private void login() {
+        String username = seeded.get(ThreadLocalRandom.current().nextInt(seeded.size()));
+        if (userRepository.findCredentialsByUsername(username).isEmpty()) {
+            throw new IllegalStateException("Seeded user " + username + " not found");
+        }
+    }
+
+    private void signup() {
+        Role role = roleRepository.findByName(ERole.ROLE_FARMER).orElseThrow();
+        userRepository.saveAndFlush(user(nextNames(1).get(0), role));
+    }
+
+    private void bulkJdbc(List<String> usernames) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_USER, usernames, usernames.size(), (statement, username) -> {
+                statement.setString(1, username);
+                statement.setString(2, username + "@dbload.test");
+                statement.setString(3, PASSWORD_HASH);
+            });
+            List<Long> ids = namedParameterJdbcTemplate.queryForList(SELECT_IDS,
+                    new MapSqlParameterSource("usernames", usernames), Long.class);
+            List<Object[]> userRoles = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                userRoles.add(new Object[] { id, farmerRoleId });
+            }
+            jdbcTemplate.batchUpdate(INSERT_USER_ROLE, userRoles);
+        });
+    }
+
+    private void bulkJpa() {
+        List<String> usernames = nextNames(bulkSize);
+        transactionTemplate.executeWithoutResult(status -> {
+            Role role = roleRepository.findByName(ERole.ROLE_FARMER).orElseThrow();
+            List<User> users = new ArrayList<>(usernames.size());
+            for (String username : usernames) {
+                users.add(user(username, role));
+            }
+            userRepository.saveAll(users);
+        });
+    }
+
+    private static User user(String username, Role role) {
+        User user = new User(username, username + "@dbload.test", PASSWORD_HASH);
+        user.setRoles(new HashSet<>(List.of(role)));
+        return user;
+    }
+
+    // Short enough for the 20-character username column, unique across runs on a shared database
+    private List<String> nextNames(int count) {
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add("db" + runTag + Long.toString(sequence.incrementAndGet(), 36));
+        }
+        return names;
+    }
+}
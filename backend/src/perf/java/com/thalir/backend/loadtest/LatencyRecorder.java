@@ -0,0 +1,57 @@
+package com.thalir.backend.loadtest;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Collects raw latencies for one worker thread. Recorders are merged once the run
+ * is over, so recording never contends between workers.
+ */
+public class LatencyRecorder {
+    private long[] samples = new long[4096];
+
+    private int count;
+
+    private long errors;
+
+    public void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    public void error() {
+        errors++;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public long errors() {
+        return errors;
+    }
+
+    public static LatencyRecorder merge(Collection<LatencyRecorder> recorders) {
+        LatencyRecorder merged = new LatencyRecorder();
+        int total = recorders.stream().mapToInt(LatencyRecorder::count).sum();
+        merged.samples = new long[Math.max(total, 1)];
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.samples, 0, merged.samples, merged.count, recorder.count);
+            merged.count += recorder.count;
+            merged.errors += recorder.errors;
+        }
+        Arrays.sort(merged.samples, 0, merged.count);
+        return merged;
+    }
+
+    /** Percentile in milliseconds; only meaningful on a merged (sorted) recorder. */
+    public double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return samples[Math.max(0, Math.min(count - 1, index))] / 1e6;
+    }
+}
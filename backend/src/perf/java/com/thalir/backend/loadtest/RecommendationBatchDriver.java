@@ -0,0 +1,109 @@
+package com.thalir.backend.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thalir.backend.recommendation.MlServiceClient;
+import com.thalir.backend.recommendation.RecommendationBatcher;
+import com.thalir.backend.recommendation.RecommendationRequest;
+import com.thalir.backend.recommendation.StubMlServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Compares prediction throughput with and without micro-batching against a local
+ * StubMlServer, bypassing the cache so every call reaches the model:
+ *
+ * mvn -Pperf test-compile exec:exec -Dperf.main=com.thalir.backend.loadtest.RecommendationBatchDriver -Dperf.args=
+ */
+public class RecommendationBatchDriver {
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("load.concurrency", 200);
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration-seconds", 20L));
+        int serverWorkers = Integer.getInteger("stub.workers", 4);
+        long overheadMicros = Long.getLong("stub.call-overhead-micros", 5000L);
+        long rowMicros = Long.getLong("stub.row-cost-micros", 100L);
+
+        try (StubMlServer server = new StubMlServer(serverWorkers, overheadMicros, rowMicros)) {
+            for (boolean batching : new boolean[] { false, true }) {
+                RecommendationBatcher batcher = batcher(server.url(), batching, concurrency);
+                run(batcher, concurrency, Duration.ofSeconds(3));
+                LatencyRecorder recorded = run(batcher, concurrency, duration);
+                batcher.stop();
+
+                double seconds = duration.toNanos() / 1e9;
+                System.out.printf("%-12s %10.1f req/s %8d errors  p50 %.2f ms  p99 %.2f ms%n",
+                        batching ? "batched" : "single", recorded.count() / seconds, recorded.errors(),
+                        recorded.percentileMillis(50), recorded.percentileMillis(99));
+            }
+        }
+    }
+
+    private static RecommendationBatcher batcher(String url, boolean enabled, int concurrency) {
+        MlServiceClient client = new MlServiceClient();
+        ReflectionTestUtils.setField(client, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(client, "baseUrl", url);
+        ReflectionTestUtils.setField(client, "connectTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(client, "requestTimeoutMs", 30000L);
+        // Compare batching, not the bulkhead: allow one call per caller
+        ReflectionTestUtils.setField(client, "maxConcurrentCalls", concurrency);
+        ReflectionTestUtils.setField(client, "circuitWindowSize", 20);
+        ReflectionTestUtils.setField(client, "circuitMinimumCalls", 10);
+        ReflectionTestUtils.setField(client, "circuitFailureRateThreshold", 0.5);
+        ReflectionTestUtils.setField(client, "circuitOpenDurationMs", 30000L);
+        ReflectionTestUtils.setField(client, "circuitHalfOpenCalls", 3);
+        client.init();
+
+        RecommendationBatcher batcher = new RecommendationBatcher();
+        ReflectionTestUtils.setField(batcher, "mlServiceClient", client);
+        ReflectionTestUtils.setField(batcher, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(batcher, "enabled", enabled);
+        ReflectionTestUtils.setField(batcher, "maxBatchSize", Integer.getInteger("batch.max-size", 32));
+        ReflectionTestUtils.setField(batcher, "maxWaitMs", Long.getLong("batch.max-wait-ms", 5L));
+        ReflectionTestUtils.setField(batcher, "queueCapacity", 10000);
+        ReflectionTestUtils.setField(batcher, "maxInFlight", Integer.getInteger("batch.max-in-flight", 4));
+        batcher.start();
+        return batcher;
+    }
+
+    private static LatencyRecorder run(RecommendationBatcher batcher, int concurrency, Duration duration)
+            throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService callers = Executors.newFixedThreadPool(concurrency);
+        List<Future<LatencyRecorder>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(callers.submit(() -> {
+                LatencyRecorder recorder = new LatencyRecorder();
+                while (System.nanoTime() < deadline) {
+                    RecommendationRequest request = new RecommendationRequest("Loamy", 1.0,
+                            "District " + ThreadLocalRandom.current().nextInt(1000));
+                    long started = System.nanoTime();
+                    try {
+                        batcher.submit(request).get(30, TimeUnit.SECONDS);
+                        recorder.record(System.nanoTime() - started);
+                    } catch (Exception e) {
+                        recorder.error();
+                    }
+                }
+                return recorder;
+            }));
+        }
+
+        List<LatencyRecorder> recorders = new ArrayList<>(concurrency);
+        for (Future<LatencyRecorder> future : futures) {
+            recorders.add(future.get());
+        }
+        callers.shutdown();
+        return LatencyRecorder.merge(recorders);
+    }
+}
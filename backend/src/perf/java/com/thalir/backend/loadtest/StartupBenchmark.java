@@ -0,0 +1,200 @@
+package com.thalir.backend.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Starts the backend repeatedly as the plain JVM jar, the jar with Spring AOT
+ * initialization and the GraalVM native image, and reports for each the time from
+ * process launch to the first successful /api/auth/signin and the resident memory
+ * at that moment. Build the artifacts first; modes without one are skipped:
+ *
+ * mvn -Pnative -DskipTests package native:compile
+ * mvn -Pperf test-compile exec:exec -Dperf.main=com.thalir.backend.loadtest.StartupBenchmark -Dperf.args=
+ *
+ * Every run uses the database from application.properties; extra arguments for the
+ * backend go in -Dstartup.app-args, e.g. a different spring.datasource.url.
+ */
+public class StartupBenchmark {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(500))
+            .build();
+
+    private final String username;
+    private final String password;
+    private final Duration timeout;
+    private final List<String> appArgs;
+
+    public StartupBenchmark(String username, String password, Duration timeout, List<String> appArgs) {
+        this.username = username;
+        this.password = password;
+        this.timeout = timeout;
+        this.appArgs = appArgs;
+    }
+
+    public static void main(String[] args) throws Exception {
+        StartupBenchmark benchmark = new StartupBenchmark(
+                System.getProperty("load.username", "farmer"),
+                System.getProperty("load.password", "password123"),
+                Duration.ofSeconds(Long.getLong("startup.timeout-seconds", 120L)),
+                split(System.getProperty("startup.app-args", "")));
+        int runs = Integer.getInteger("startup.runs", 5);
+        Path target = Paths.get(System.getProperty("startup.target", "target"));
+
+        System.out.printf("%-10s %6s %14s %14s %14s %12s%n", "mode", "runs", "min ms", "median ms", "max ms",
+                "median RSS MB");
+        for (String mode : split(System.getProperty("startup.modes", "jvm,jvm-aot,native").replace(',', ' '))) {
+            Optional<List<String>> command = command(mode, target);
+            if (command.isEmpty()) {
+                System.out.printf("%-10s skipped, no artifact under %s%n", mode, target);
+                continue;
+            }
+            List<Long> millis = new ArrayList<>();
+            List<Long> rssKb = new ArrayList<>();
+            for (int run = 0; run < runs; run++) {
+                Sample sample = benchmark.start(mode, run, command.get(), target);
+                millis.add(sample.millis);
+                rssKb.add(sample.rssKb);
+            }
+            Collections.sort(millis);
+            Collections.sort(rssKb);
+            System.out.printf("%-10s %6d %14d %14d %14d %12.1f%n", mode, runs, millis.get(0),
+                    millis.get(runs / 2), millis.get(runs - 1), rssKb.get(runs / 2) / 1024.0);
+        }
+    }
+
+    private static Optional<List<String>> command(String mode, Path target) throws IOException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        switch (mode) {
+            case "jvm":
+                return jar(target).map(jar -> List.of(java, "-jar", jar.toString()));
+            case "jvm-aot":
+                return jar(target).map(jar -> List.of(java, "-Dspring.aot.enabled=true", "-jar", jar.toString()));
+            case "native":
+                Path executable = target.resolve("thalir-backend");
+                return Files.isExecutable(executable)
+                        ? Optional.of(List.of(executable.toString()))
+                        : Optional.empty();
+            default:
+                throw new IllegalArgumentException("Unknown startup mode " + mode);
+        }
+    }
+
+    private static Optional<Path> jar(Path target) throws IOException {
+        if (!Files.isDirectory(target)) {
+            return Optional.empty();
+        }
+        try (var files = Files.list(target)) {
+            return files.filter(file -> file.getFileName().toString().matches("backend-.*\\.jar"))
+                    .findFirst();
+        }
+    }
+
+    private Sample start(String mode, int run, List<String> command, Path target) throws Exception {
+        int port = freePort();
+        List<String> arguments = new ArrayList<>(command);
+        arguments.add("--server.port=" + port);
+        arguments.add("--management.server.port=0");
+        arguments.addAll(appArgs);
+
+        Path log = target.resolve("startup").resolve(mode + "-" + run + ".log");
+        Files.createDirectories(log.getParent());
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(arguments)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            waitForSignIn(process, port, started, log);
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            return new Sample(millis, residentKb(process.pid()));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private void waitForSignIn(Process process, int port, long started, Path log) throws Exception {
+        String body = MAPPER.createObjectNode()
+                .put("username", username)
+                .put("password", password)
+                .toString();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/signin"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(5))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        long deadline = started + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Backend exited with " + process.exitValue() + "; see " + log);
+            }
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("No successful sign-in within " + timeout + "; see " + log);
+    }
+
+    // VmRSS from procfs on Linux, ps elsewhere
+    private static long residentKb(long pid) throws IOException, InterruptedException {
+        Path status = Paths.get("/proc", String.valueOf(pid), "status");
+        if (Files.exists(status)) {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        }
+        Process ps = new ProcessBuilder("ps", "-o", "rss=", "-p", String.valueOf(pid)).start();
+        String output = new String(ps.getInputStream().readAllBytes()).trim();
+        ps.waitFor();
+        return output.isEmpty() ? 0 : Long.parseLong(output);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static List<String> split(String value) {
+        return value.isBlank() ? List.of() : Arrays.asList(value.trim().split("\\s+"));
+    }
+
+    private static final class Sample {
+        private final long millis;
+        private final long rssKb;
+
+        private Sample(long millis, long rssKb) {
+            this.millis = millis;
+            this.rssKb = rssKb;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.thalir.backend.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedTtlCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsedEntryWhenFull() {
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(2, Duration.ofMinutes(1));
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+
+        cache.put("c", 3);
+
+        assertThat(cache.get("a")).isEqualTo(1);
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isEqualTo(3);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void expiredEntriesMissAndAreRemoved() throws InterruptedException {
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(10, Duration.ofMillis(20));
+        cache.put("a", 1);
+        assertThat(cache.get("a")).isEqualTo(1);
+
+        Thread.sleep(40);
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void removeIfMatchesKeysAndValues() {
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(10, Duration.ofMinutes(1));
+        cache.put("page:a", 1);
+        cache.put("page:b", 2);
+        cache.put("product:1", 3);
+
+        cache.removeIf((key, value) -> key.startsWith("page:") && value > 1);
+
+        assertThat(cache.get("page:a")).isEqualTo(1);
+        assertThat(cache.get("page:b")).isNull();
+        assertThat(cache.get("product:1")).isEqualTo(3);
+    }
+
+    @Test
+    void staleEntriesStayReadableUntilTheStaleWindowEnds() throws InterruptedException {
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(10, Duration.ZERO, Duration.ofMillis(50));
+        cache.put("a", 1);
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.getStale("a")).isEqualTo(1);
+
+        Thread.sleep(80);
+
+        assertThat(cache.getStale("a")).isNull();
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+}
@@ -0,0 +1,72 @@
+package com.thalir.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * Runs the migrations the way application.properties configures Flyway, on H2 in
+ * MySQL mode, against an empty database and against one created by ddl-auto before
+ * Flyway.
+ */
+class AdoptedSchemaMigrationTest {
+    private static final String URL = "jdbc:h2:mem:%s;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Test
+    void upgradesDatabaseCreatedByDdlAuto() {
+        DriverManagerDataSource dataSource = dataSource("adopted");
+        new ResourceDatabasePopulator(new ClassPathResource("db/baseline-schema.sql")).execute(dataSource);
+
+        migrate(dataSource);
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        Map<String, Object> farmer = jdbc.queryForMap(
+                "SELECT password, token_version FROM users WHERE username = 'farmer'");
+        assertThat(farmer.get("password")).isEqualTo("existing-hash");
+        assertThat(farmer.get("token_version")).isEqualTo(0);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM users WHERE username = 'admin'", Integer.class))
+                .isEqualTo(1);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM user_roles", Integer.class)).isEqualTo(4);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM information_schema.indexes "
+                + "WHERE index_name = 'idx_users_token_version'", Integer.class)).isPositive();
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM products", Integer.class)).isZero();
+    }
+
+    @Test
+    void leavesDatabaseCreatedByFlywayAlone() {
+        DriverManagerDataSource dataSource = dataSource("fresh");
+
+        migrate(dataSource);
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM users", Integer.class)).isEqualTo(4);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM flyway_schema_history WHERE version = '1.1' "
+                + "AND success", Integer.class)).isEqualTo(1);
+        assertThat(jdbc.queryForList("SELECT column_name FROM information_schema.columns "
+                + "WHERE table_name = 'jwt_signing_keys'", String.class)).contains("activates_at", "generation");
+        assertThat(jdbc.queryForList("SELECT column_name FROM information_schema.index_columns "
+                + "WHERE index_name = 'idx_products_category_price_id' ORDER BY ordinal_position", String.class))
+                .containsExactly("enabled", "category", "price", "id");
+    }
+
+    private static DriverManagerDataSource dataSource(String name) {
+        return new DriverManagerDataSource(String.format(URL, name), "sa", "");
+    }
+
+    private static void migrate(DriverManagerDataSource dataSource) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .javaMigrations(new AdoptedSchemaMigration())
+                .load()
+                .migrate();
+    }
+}
@@ -0,0 +1,36 @@
+package com.thalir.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import com.thalir.backend.model.User;
+
+class NativeRuntimeHintsTest {
+    private final RuntimeHints hints = new RuntimeHints();
+
+    NativeRuntimeHintsTest() {
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void coversTheProxiesSpringDataCreatesForProjections() {
+        ProjectionFactory factory = new SpelAwareProxyProjectionFactory();
+        for (Class<?> projection : NativeRuntimeHints.PROJECTIONS) {
+            Object proxy = factory.createProjection(projection);
+            assertThat(RuntimeHintsPredicates.proxies().forInterfaces(proxy.getClass().getInterfaces()))
+                    .as(projection.getSimpleName())
+                    .accepts(hints);
+            assertThat(RuntimeHintsPredicates.reflection().onType(projection)).accepts(hints);
+        }
+    }
+
+    @Test
+    void coversEntitiesHibernatePopulates() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(User.class)).accepts(hints);
+    }
+}
@@ -0,0 +1,97 @@
+package com.thalir.backend.recommendation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+    @Test
+    void staysClosedBelowMinimumCalls() {
+        CircuitBreaker breaker = new CircuitBreaker(10, 4, 0.5, 60000, 1);
+        for (int i = 0; i < 3; i++) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.onFailure();
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void opensAtFailureRateAndRefusesCalls() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 4, 0.5, 60000, 1);
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        breaker.onFailure();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.isOpen()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void oldOutcomesLeaveTheWindow() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 4, 0.75, 60000, 1);
+        breaker.onFailure();
+        breaker.onFailure();
+        for (int i = 0; i < 4; i++) {
+            breaker.onSuccess();
+        }
+        breaker.onFailure();
+        breaker.onFailure();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void halfOpensAfterOpenDurationAndClosesOnTrialSuccesses() throws InterruptedException {
+        CircuitBreaker breaker = opened(2);
+        Thread.sleep(30);
+
+        assertThat(breaker.isOpen()).isFalse();
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        breaker.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        breaker.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void reopensOnTrialFailure() throws InterruptedException {
+        CircuitBreaker breaker = opened(2);
+        Thread.sleep(30);
+        assertThat(breaker.tryAcquire()).isTrue();
+
+        breaker.onFailure();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.isOpen()).isTrue();
+    }
+
+    @Test
+    void releaseReturnsAnUnusedTrialPermit() throws InterruptedException {
+        CircuitBreaker breaker = opened(1);
+        Thread.sleep(30);
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        breaker.release();
+
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    private static CircuitBreaker opened(int halfOpenCalls) {
+        CircuitBreaker breaker = new CircuitBreaker(2, 2, 0.5, 10, halfOpenCalls);
+        breaker.onFailure();
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        return breaker;
+    }
+}
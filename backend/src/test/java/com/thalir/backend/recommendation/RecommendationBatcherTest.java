@@ -0,0 +1,128 @@
+package com.thalir.backend.recommendation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RecommendationBatcherTest {
+    private StubMlServer server;
+    private RecommendationBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        batcher.stop();
+        server.close();
+    }
+
+    @Test
+    void concurrentRequestsShareOneCall() throws Exception {
+        start(0, 8, 200, 100, 4);
+
+        List<CompletableFuture<RecommendationResponse>> futures = submit(8);
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertThat(futures.get(i).get(5, TimeUnit.SECONDS).getLocation()).isEqualTo("District " + i);
+        }
+        assertThat(server.getBatchCalls()).isEqualTo(1);
+        assertThat(server.getSingleCalls()).isZero();
+    }
+
+    @Test
+    void batchesAreCappedAtMaxSize() throws Exception {
+        start(0, 8, 200, 100, 4);
+
+        List<CompletableFuture<RecommendationResponse>> futures = submit(20);
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertThat(futures.get(i).get(5, TimeUnit.SECONDS).getLocation()).isEqualTo("District " + i);
+        }
+        assertThat(server.getBatchCalls()).isEqualTo(3);
+    }
+
+    @Test
+    void fullQueueRejectsInsteadOfWaiting() throws Exception {
+        // One slow batch in flight, one held by the dispatcher and two queued; the rest are rejected
+        start(300_000, 1, 0, 2, 1);
+
+        List<CompletableFuture<RecommendationResponse>> futures = submit(10);
+
+        int rejected = 0;
+        for (CompletableFuture<RecommendationResponse> future : futures) {
+            try {
+                assertThat(future.get(5, TimeUnit.SECONDS)).isNotNull();
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(RecommendationCapacityExceededException.class);
+                rejected++;
+            }
+        }
+        assertThat(rejected).isGreaterThanOrEqualTo(6);
+        assertThat(server.getBatchCalls()).isEqualTo(10 - rejected);
+    }
+
+    @Test
+    void failedCallFailsEveryRequestInTheBatch() {
+        start(0, 8, 200, 100, 4);
+        server.setStatus(500);
+
+        List<CompletableFuture<RecommendationResponse>> futures = submit(4);
+
+        for (CompletableFuture<RecommendationResponse> future : futures) {
+            assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(MlServiceException.class);
+        }
+        assertThat(server.getBatchCalls()).isEqualTo(1);
+    }
+
+    private void start(long callOverheadMicros, int maxBatchSize, long maxWaitMs, int queueCapacity,
+            int maxInFlight) {
+        try {
+            server = new StubMlServer(2, callOverheadMicros, 0);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+
+        MlServiceClient client = new MlServiceClient();
+        ReflectionTestUtils.setField(client, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(client, "baseUrl", server.url());
+        ReflectionTestUtils.setField(client, "connectTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(client, "requestTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(client, "maxConcurrentCalls", 8);
+        ReflectionTestUtils.setField(client, "circuitWindowSize", 20);
+        ReflectionTestUtils.setField(client, "circuitMinimumCalls", 10);
+        ReflectionTestUtils.setField(client, "circuitFailureRateThreshold", 0.5);
+        ReflectionTestUtils.setField(client, "circuitOpenDurationMs", 30000L);
+        ReflectionTestUtils.setField(client, "circuitHalfOpenCalls", 1);
+        client.init();
+
+        batcher = new RecommendationBatcher();
+        ReflectionTestUtils.setField(batcher, "mlServiceClient", client);
+        ReflectionTestUtils.setField(batcher, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(batcher, "enabled", true);
+        ReflectionTestUtils.setField(batcher, "maxBatchSize", maxBatchSize);
+        ReflectionTestUtils.setField(batcher, "maxWaitMs", maxWaitMs);
+        ReflectionTestUtils.setField(batcher, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(batcher, "maxInFlight", maxInFlight);
+        batcher.start();
+    }
+
+    private List<CompletableFuture<RecommendationResponse>> submit(int count) {
+        List<CompletableFuture<RecommendationResponse>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            futures.add(batcher.submit(new RecommendationRequest("Loamy", 1.0, "District " + i)));
+        }
+        return futures;
+    }
+}
@@ -0,0 +1,95 @@
+package com.thalir.backend.recommendation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RecommendationServiceTest {
+    private static final long OPEN_DURATION_MS = 200;
+
+    private StubMlServer server;
+    private MlServiceClient client;
+    private RecommendationBatcher batcher;
+    private RecommendationService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubMlServer(2, 0, 0);
+
+        client = new MlServiceClient();
+        ReflectionTestUtils.setField(client, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(client, "baseUrl", server.url());
+        ReflectionTestUtils.setField(client, "connectTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(client, "requestTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(client, "maxConcurrentCalls", 8);
+        ReflectionTestUtils.setField(client, "circuitWindowSize", 2);
+        ReflectionTestUtils.setField(client, "circuitMinimumCalls", 2);
+        ReflectionTestUtils.setField(client, "circuitFailureRateThreshold", 0.5);
+        ReflectionTestUtils.setField(client, "circuitOpenDurationMs", OPEN_DURATION_MS);
+        ReflectionTestUtils.setField(client, "circuitHalfOpenCalls", 1);
+        client.init();
+
+        batcher = new RecommendationBatcher();
+        ReflectionTestUtils.setField(batcher, "mlServiceClient", client);
+        ReflectionTestUtils.setField(batcher, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(batcher, "enabled", false);
+        batcher.start();
+
+        // Entries expire at once but stay available as stale fallbacks
+        RecommendationCache cache = new RecommendationCache();
+        ReflectionTestUtils.setField(cache, "maxSize", 100);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 0L);
+        ReflectionTestUtils.setField(cache, "staleTtlSeconds", 3600L);
+        cache.init();
+
+        service = new RecommendationService();
+        ReflectionTestUtils.setField(service, "batcher", batcher);
+        ReflectionTestUtils.setField(service, "mlServiceClient", client);
+        ReflectionTestUtils.setField(service, "cache", cache);
+        ReflectionTestUtils.setField(service, "deadlineMs", 5000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.stop();
+        server.close();
+    }
+
+    @Test
+    void servesStaleWhileOpenAndProbesOnceTheOpenDurationHasPassed() throws Exception {
+        assertThat(recommend().isStale()).isFalse();
+
+        server.setStatus(503);
+        assertThat(recommend().isStale()).isTrue();
+        assertThat(recommend().isStale()).isTrue();
+        assertThat(client.isCircuitOpen()).isTrue();
+
+        int calls = server.getSingleCalls();
+        assertThat(recommend().isStale()).isTrue();
+        assertThat(server.getSingleCalls()).isEqualTo(calls);
+
+        server.setStatus(200);
+        Thread.sleep(OPEN_DURATION_MS + 50);
+        assertThat(client.isCircuitOpen()).isFalse();
+
+        RecommendationResponse probed = recommend();
+
+        assertThat(probed.isStale()).isFalse();
+        assertThat(server.getSingleCalls()).isEqualTo(calls + 1);
+        assertThat(client.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    private RecommendationResponse recommend() throws Exception {
+        return service.recommend(new RecommendationRequest("Loamy", 2.0, "Coimbatore, Tamil Nadu"))
+                .get(10, TimeUnit.SECONDS);
+    }
+}
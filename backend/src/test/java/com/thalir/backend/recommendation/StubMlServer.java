@@ -0,0 +1,144 @@
+package com.thalir.backend.recommendation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Stand-in for the ML service with the same /recommend and /recommend/batch
+ * contract. Each call costs a fixed overhead plus a per-row cost, roughly matching
+ * a model whose single-row inference is dominated by call and DataFrame setup.
+ * Tests can make it answer with an error status and count the calls it received.
+ */
+public class StubMlServer implements AutoCloseable {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+    private final long callOverheadMicros;
+    private final long rowCostMicros;
+
+    private volatile int status = 200;
+
+    private final AtomicInteger singleCalls = new AtomicInteger();
+    private final AtomicInteger batchCalls = new AtomicInteger();
+
+    public StubMlServer(int workers, long callOverheadMicros, long rowCostMicros) throws IOException {
+        this.callOverheadMicros = callOverheadMicros;
+        this.rowCostMicros = rowCostMicros;
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(Executors.newFixedThreadPool(workers));
+        server.createContext("/recommend/batch", this::batch);
+        server.createContext("/recommend", this::single);
+        server.start();
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    // Every later call is answered with this status; anything but 200 carries an error body
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public int getSingleCalls() {
+        return singleCalls.get();
+    }
+
+    public int getBatchCalls() {
+        return batchCalls.get();
+    }
+
+    private void single(HttpExchange exchange) throws IOException {
+        singleCalls.incrementAndGet();
+        JsonNode request = read(exchange);
+        work(1);
+        if (status != 200) {
+            error(exchange);
+            return;
+        }
+        respond(exchange, prediction(request));
+    }
+
+    private void batch(HttpExchange exchange) throws IOException {
+        batchCalls.incrementAndGet();
+        JsonNode requests = read(exchange).get("requests");
+        work(requests.size());
+        if (status != 200) {
+            error(exchange);
+            return;
+        }
+        ObjectNode body = MAPPER.createObjectNode();
+        ArrayNode results = body.putArray("results");
+        for (JsonNode request : requests) {
+            results.addObject().set("recommendation", prediction(request));
+        }
+        respond(exchange, body);
+    }
+
+    private void work(int rows) {
+        try {
+            TimeUnit.MICROSECONDS.sleep(callOverheadMicros + rowCostMicros * rows);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static JsonNode read(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return MAPPER.readTree(in);
+        }
+    }
+
+    private static ObjectNode prediction(JsonNode request) {
+        double area = request.path("land_area").asDouble(1);
+        ObjectNode response = MAPPER.createObjectNode();
+        response.put("location", request.path("location").asText());
+        response.putObject("weather_summary")
+                .put("avg_temp", 28.0)
+                .put("humidity", 70.0)
+                .put("rainfall_forecast", 100.0);
+        response.putArray("recommendations").addObject()
+                .put("crop", "Paddy")
+                .put("success_rate", 0.8)
+                .put("expected_yield_tons", 2.5 * area)
+                .put("estimated_cost", 25000 * area)
+                .put("predicted_profit", 30000 * area)
+                .put("risk", "Low");
+        return response;
+    }
+
+    private void error(HttpExchange exchange) throws IOException {
+        respond(exchange, status, MAPPER.createObjectNode().put("detail", "Stub error"));
+    }
+
+    private static void respond(HttpExchange exchange, JsonNode body) throws IOException {
+        respond(exchange, 200, body);
+    }
+
+    private static void respond(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        byte[] bytes = MAPPER.writeValueAsString(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,58 @@
+package com.thalir.backend.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+/**
+ * Boots the application with both servers on random ports, the way tests and load
+ * runs start it, on H2 in MySQL mode. Metrics export is off in tests unless asked
+ * for, and without it there is no prometheus endpoint.
+ */
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:websecurity;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "management.server.port=0",
+        "weather.provider=fixture",
+        "auth.hashing.calibrate=false"
+})
+class WebSecurityConfigTest {
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    int serverPort;
+
+    @LocalManagementPort
+    int managementPort;
+
+    @Test
+    void prometheusIsOpenOnTheBoundManagementPort() throws Exception {
+        assertThat(status(managementPort, "/actuator/prometheus")).isEqualTo(200);
+    }
+
+    @Test
+    void otherEndpointsOnTheManagementPortStillNeedAnAdmin() throws Exception {
+        assertThat(status(managementPort, "/actuator/metrics")).isEqualTo(401);
+    }
+
+    @Test
+    void applicationPortServesNoActuatorEndpoints() throws Exception {
+        assertThat(status(serverPort, "/actuator/prometheus")).isNotEqualTo(200);
+    }
+
+    private int status(int port, String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,158 @@
+package com.thalir.backend.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.thalir.backend.model.JwtSigningKey;
+import com.thalir.backend.repository.JwtSigningKeyRepository;
+
+import io.jsonwebtoken.Jwts;
+
+class JwtKeyManagerTest {
+    private static final Duration ROTATION = Duration.ofHours(1);
+    private static final Duration PUBLISH_AHEAD = Duration.ofMinutes(15);
+
+    private final List<JwtSigningKey> rows = new ArrayList<>();
+
+    private JwtSigningKeyRepository repository;
+
+    // Lets a test hold rotations between reading the newest generation and saving the next
+    private volatile CountDownLatch generationRead;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(JwtSigningKeyRepository.class);
+        when(repository.findByRetiresAtAfterOrderByIdAsc(any())).thenAnswer(invocation -> {
+            Instant now = invocation.getArgument(0);
+            synchronized (rows) {
+                return rows.stream().filter(row -> row.getRetiresAt().isAfter(now))
+                        .sorted(Comparator.comparing(JwtSigningKey::getId)).toList();
+            }
+        });
+        when(repository.findMaxGeneration()).thenAnswer(invocation -> {
+            Long max;
+            synchronized (rows) {
+                max = rows.stream().map(JwtSigningKey::getGeneration).max(Long::compare).orElse(null);
+            }
+            CountDownLatch latch = generationRead;
+            if (latch != null) {
+                latch.countDown();
+                latch.await(5, TimeUnit.SECONDS);
+            }
+            return max;
+        });
+        when(repository.save(any())).thenAnswer(invocation -> {
+            JwtSigningKey row = invocation.getArgument(0);
+            synchronized (rows) {
+                if (rows.stream().anyMatch(existing -> existing.getGeneration().equals(row.getGeneration()))) {
+                    throw new DataIntegrityViolationException("uk_jwt_signing_keys_generation");
+                }
+                row.setId((long) rows.size() + 1);
+                rows.add(row);
+            }
+            return row;
+        });
+    }
+
+    @Test
+    void firstKeySignsImmediately() {
+        JwtKeyManager manager = manager();
+
+        assertThat(rows).hasSize(1);
+        assertThat(signingKid(manager)).isEqualTo(rows.get(0).getKid());
+        assertThat(manager.publicJwks()).extracting(jwk -> jwk.get("kid")).containsExactly(rows.get(0).getKid());
+    }
+
+    @Test
+    void nextKeyIsPublishedBeforeItSigns() {
+        manager();
+        JwtSigningKey first = rows.get(0);
+        age(first, ROTATION.minus(PUBLISH_AHEAD).plusMinutes(1));
+
+        Instant before = Instant.now();
+        JwtKeyManager manager = manager();
+
+        assertThat(rows).hasSize(2);
+        JwtSigningKey next = rows.get(1);
+        assertThat(next.getGeneration()).isEqualTo(first.getGeneration() + 1);
+        assertThat(next.getActivatesAt()).isAfterOrEqualTo(before.plus(PUBLISH_AHEAD));
+        assertThat(manager.publicJwks()).extracting(jwk -> jwk.get("kid"))
+                .containsExactlyInAnyOrder(first.getKid(), next.getKid());
+        assertThat(signingKid(manager)).isEqualTo(first.getKid());
+
+        age(next, Duration.ofSeconds(1).plus(Duration.between(Instant.now(), next.getActivatesAt())));
+        assertThat(signingKid(manager())).isEqualTo(next.getKid());
+        assertThat(rows).hasSize(2);
+    }
+
+    @Test
+    void concurrentRotationsCreateOneKey() throws Exception {
+        manager();
+        age(rows.get(0), ROTATION);
+        JwtKeyManager first = unstartedManager();
+        JwtKeyManager second = unstartedManager();
+
+        generationRead = new CountDownLatch(2);
+        CompletableFuture<Void> rotations = CompletableFuture.allOf(
+                CompletableFuture.runAsync(first::init), CompletableFuture.runAsync(second::init));
+        rotations.get(30, TimeUnit.SECONDS);
+
+        assertThat(rows).hasSize(2);
+        String next = rows.get(1).getKid();
+        assertThat(first.publicJwks()).extracting(jwk -> jwk.get("kid")).contains(next);
+        assertThat(second.publicJwks()).extracting(jwk -> jwk.get("kid")).contains(next);
+        // Overdue, but still published ahead: the current key signs until then
+        assertThat(signingKid(first)).isEqualTo(rows.get(0).getKid());
+    }
+
+    // Moves a stored key back in time; managers created afterwards see it that way
+    private void age(JwtSigningKey row, Duration by) {
+        row.setCreatedAt(row.getCreatedAt().minus(by));
+        row.setActivatesAt(row.getActivatesAt().minus(by));
+        row.setRetiresAt(row.getRetiresAt().minus(by));
+    }
+
+    private JwtKeyManager manager() {
+        JwtKeyManager manager = unstartedManager();
+        manager.init();
+        return manager;
+    }
+
+    private JwtKeyManager unstartedManager() {
+        JwtKeyManager manager = new JwtKeyManager();
+        ReflectionTestUtils.setField(manager, "signingKeyRepository", repository);
+        ReflectionTestUtils.setField(manager, "signingAlgorithm", "RS256");
+        ReflectionTestUtils.setField(manager, "jwtSecret", "");
+        ReflectionTestUtils.setField(manager, "hmacAcceptUntil", "");
+        ReflectionTestUtils.setField(manager, "keyEncryptionKey", Base64.getEncoder().encodeToString(new byte[32]));
+        ReflectionTestUtils.setField(manager, "rsaKeySize", 2048);
+        ReflectionTestUtils.setField(manager, "rotationIntervalMs", ROTATION.toMillis());
+        ReflectionTestUtils.setField(manager, "overlapMs", ROTATION.toMillis());
+        ReflectionTestUtils.setField(manager, "publishAheadMs", PUBLISH_AHEAD.toMillis());
+        return manager;
+    }
+
+    private static String signingKid(JwtKeyManager manager) {
+        String token = manager.sign(Jwts.builder().setClaims(Map.of("sub", "farmer"))).compact();
+        return Jwts.parserBuilder().setSigningKeyResolver(manager).build()
+                .parseClaimsJws(token).getHeader().getKeyId();
+    }
+}
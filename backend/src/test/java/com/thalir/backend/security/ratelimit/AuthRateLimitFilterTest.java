@@ -0,0 +1,86 @@
+package com.thalir.backend.security.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thalir.backend.security.services.AuthMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AuthRateLimitFilterTest {
+    private AuthRateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new AuthRateLimitFilter();
+        ReflectionTestUtils.setField(filter, "authMetrics", new AuthMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(filter, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "ipCapacity", 100);
+        ReflectionTestUtils.setField(filter, "ipRefillPerSecond", 100.0);
+        ReflectionTestUtils.setField(filter, "usernameCapacity", 2);
+        ReflectionTestUtils.setField(filter, "usernameRefillPerSecond", 0.2);
+        ReflectionTestUtils.setField(filter, "maxKeys", 1000);
+        ReflectionTestUtils.setField(filter, "maxBodyBytes", 1024);
+        filter.init();
+    }
+
+    @Test
+    void limitsSignInPerUsername() throws Exception {
+        assertThat(signIn("/api/auth/signin", "/api/auth/signin", "alice")).isEqualTo(200);
+        assertThat(signIn("/api/auth/signin", "/api/auth/signin", "Alice")).isEqualTo(200);
+
+        assertThat(signIn("/api/auth/signin", "/api/auth/signin", "alice")).isEqualTo(429);
+        assertThat(signIn("/api/auth/signin", "/api/auth/signin", "bob")).isEqualTo(200);
+    }
+
+    // The container decodes the servlet path; the request URI keeps the client's encoding
+    @Test
+    void limitsPercentEncodedSignInPath() throws Exception {
+        assertThat(signIn("/api/auth/sign%69n", "/api/auth/signin", "alice")).isEqualTo(200);
+        assertThat(signIn("/api/%61uth/signin", "/api/auth/signin", "alice")).isEqualTo(200);
+
+        assertThat(signIn("/api/auth/sign%69n", "/api/auth/signin", "alice")).isEqualTo(429);
+    }
+
+    @Test
+    void rejectsOversizedBodies() throws Exception {
+        MockHttpServletRequest request = request("/api/auth/signin", "/api/auth/signin",
+                "{\"username\":\"" + "a".repeat(2000) + "\"}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(413);
+    }
+
+    private int signIn(String uri, String servletPath, String username) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request(uri, servletPath, "{\"username\":\"" + username + "\",\"password\":\"x\"}"),
+                response, chain);
+        if (chain.getRequest() != null) {
+            // The controller still gets the whole body
+            assertThat(new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8))
+                    .contains(username);
+        }
+        return response.getStatus();
+    }
+
+    private static MockHttpServletRequest request(String uri, String servletPath, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setServletPath(servletPath);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,73 @@
+package com.thalir.backend.security.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long start = System.nanoTime();
+
+    @Test
+    void allowsBurstThenWaitsForRefill() {
+        RateLimiter limiter = new RateLimiter(3, 1, 100);
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("alice", start)).isZero();
+        }
+
+        assertThat(limiter.tryAcquire("alice", start)).isEqualTo(SECOND);
+        assertThat(limiter.tryAcquire("alice", start + SECOND / 2)).isEqualTo(SECOND / 2);
+        assertThat(limiter.tryAcquire("alice", start + SECOND)).isZero();
+        assertThat(limiter.tryAcquire("alice", start + SECOND)).isPositive();
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        RateLimiter limiter = new RateLimiter(1, 1, 100);
+        assertThat(limiter.tryAcquire("alice", start)).isZero();
+        assertThat(limiter.tryAcquire("alice", start)).isPositive();
+
+        assertThat(limiter.tryAcquire("bob", start)).isZero();
+    }
+
+    @Test
+    void refilledKeysAreEvicted() {
+        RateLimiter limiter = new RateLimiter(2, 1, 100);
+        limiter.tryAcquire("alice", System.nanoTime() - 10 * SECOND);
+        limiter.tryAcquire("bob", System.nanoTime() + 10 * SECOND);
+
+        limiter.evictIdle();
+
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void untrackedKeysAreNotThrottledWhenFull() {
+        RateLimiter limiter = new RateLimiter(1, 0.2, 2);
+        limiter.tryAcquire("sprayed-1", start);
+        limiter.tryAcquire("sprayed-2", start);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire("alice", start)).isZero();
+            assertThat(limiter.tryAcquire("bob", start)).isZero();
+        }
+        assertThat(limiter.getUntrackedCount()).isEqualTo(20);
+        assertThat(limiter.size()).isEqualTo(2);
+        assertThat(limiter.tryAcquire("sprayed-1", start)).isPositive();
+    }
+
+    @Test
+    void newKeysAreTrackedAgainOnceIdleKeysCanBeDropped() {
+        RateLimiter limiter = new RateLimiter(1, 1, 2);
+        limiter.tryAcquire("sprayed-1", start);
+        limiter.tryAcquire("sprayed-2", start);
+
+        long later = start + 5 * SECOND;
+        assertThat(limiter.tryAcquire("alice", later)).isZero();
+        assertThat(limiter.tryAcquire("alice", later)).isPositive();
+        assertThat(limiter.getUntrackedCount()).isZero();
+    }
+}
@@ -0,0 +1,159 @@
+package com.thalir.backend.security.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.thalir.backend.model.RevokedToken;
+import com.thalir.backend.payload.response.TokenRefreshResponse;
+import com.thalir.backend.repository.RevokedTokenRepository;
+import com.thalir.backend.repository.UserRepository;
+import com.thalir.backend.security.jwt.JwtKeyManager;
+import com.thalir.backend.security.jwt.JwtUtils;
+import com.thalir.backend.security.jwt.SecurityEventLogger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Two application instances sharing the users and revoked_tokens tables, with the
+ * repositories backed by maps.
+ */
+class RefreshTokenServiceTest {
+    private static final String SECRET = "thalirsecretkeythalirsecretkeythalirsecretkeythalirsecretkey";
+
+    private static final UserDetailsImpl FARMER = new UserDetailsImpl(7L, "farmer", "farmer@example.com", "hash",
+            List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+    private final Map<Long, Integer> tokenVersions = new HashMap<>();
+    private final List<RevokedToken> revokedRows = new ArrayList<>();
+
+    private UserRepository userRepository;
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.incrementTokenVersion(anyLong())).thenAnswer(invocation -> {
+            tokenVersions.merge(invocation.getArgument(0), 1, Integer::sum);
+            return 1;
+        });
+        when(userRepository.findTokenVersionById(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(tokenVersions.get(invocation.<Long>getArgument(0))));
+
+        revokedTokenRepository = mock(RevokedTokenRepository.class);
+        when(revokedTokenRepository.save(any())).thenAnswer(invocation -> {
+            RevokedToken row = invocation.getArgument(0);
+            if (revokedRows.stream().anyMatch(existing -> existing.getJti().equals(row.getJti()))) {
+                throw new DataIntegrityViolationException("uk_revoked_tokens_jti");
+            }
+            row.setId((long) revokedRows.size() + 1);
+            revokedRows.add(row);
+            return row;
+        });
+    }
+
+    @Test
+    void refreshTokensAreSingleUse() {
+        Instance instance = new Instance();
+        String refreshToken = instance.jwtUtils.generateRefreshToken(FARMER);
+
+        TokenRefreshResponse response = instance.service.refresh(refreshToken);
+
+        assertThat(instance.jwtUtils.parseValidClaims(response.getToken()).getSubject()).isEqualTo("farmer");
+        assertThat(instance.jwtUtils.parseValidRefreshClaims(response.getRefreshToken())).isNotNull();
+        assertThat(tokenVersions).isEmpty();
+    }
+
+    @Test
+    void reuseEndsEverySessionOfTheUser() {
+        Instance instance = new Instance();
+        String stolen = instance.jwtUtils.generateRefreshToken(FARMER);
+        TokenRefreshResponse legitimate = instance.service.refresh(stolen);
+
+        assertThatThrownBy(() -> instance.service.refresh(stolen))
+                .isInstanceOf(TokenRefreshException.class)
+                .hasMessageContaining("already used");
+
+        assertThat(tokenVersions).containsEntry(7L, 1);
+        assertThat(instance.jwtUtils.parseValidClaims(legitimate.getToken())).isNull();
+        assertThatThrownBy(() -> instance.service.refresh(legitimate.getRefreshToken()))
+                .isInstanceOf(TokenRefreshException.class)
+                .hasMessageContaining("invalid or expired");
+    }
+
+    @Test
+    void reuseOnAnotherInstanceIsCaughtByThePersistedLog() {
+        Instance first = new Instance();
+        Instance second = new Instance();
+        String refreshToken = first.jwtUtils.generateRefreshToken(FARMER);
+        first.service.refresh(refreshToken);
+
+        // The second instance has not synced the revocation yet
+        assertThatThrownBy(() -> second.service.refresh(refreshToken))
+                .isInstanceOf(TokenRefreshException.class)
+                .hasMessageContaining("already used");
+
+        assertThat(tokenVersions).containsEntry(7L, 1);
+    }
+
+    private final class Instance {
+        private final JwtUtils jwtUtils = new JwtUtils();
+        private final RefreshTokenService service = new RefreshTokenService();
+
+        private Instance() {
+            JwtKeyManager keyManager = new JwtKeyManager();
+            ReflectionTestUtils.setField(keyManager, "signingAlgorithm", "HS256");
+            ReflectionTestUtils.setField(keyManager, "jwtSecret", SECRET);
+            keyManager.init();
+
+            UserDetailsCache userCache = new UserDetailsCache();
+            ReflectionTestUtils.setField(userCache, "enabled", true);
+            ReflectionTestUtils.setField(userCache, "maxSize", 100);
+            ReflectionTestUtils.setField(userCache, "ttlSeconds", 300L);
+            userCache.init();
+
+            TokenVersionService tokenVersionService = new TokenVersionService();
+            ReflectionTestUtils.setField(tokenVersionService, "userRepository", userRepository);
+            ReflectionTestUtils.setField(tokenVersionService, "userCache", userCache);
+            tokenVersionService.load();
+
+            RevokedTokenStore revokedTokenStore = new RevokedTokenStore();
+            ReflectionTestUtils.setField(revokedTokenStore, "revokedTokenRepository", revokedTokenRepository);
+            ReflectionTestUtils.setField(revokedTokenStore, "bucketMinutes", 60L);
+            ReflectionTestUtils.setField(revokedTokenStore, "syncOverlapRows", 1000L);
+            revokedTokenStore.load();
+
+            ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 900000);
+            ReflectionTestUtils.setField(jwtUtils, "jwtRefreshExpirationMs", 604800000L);
+            ReflectionTestUtils.setField(jwtUtils, "keyManager", keyManager);
+            ReflectionTestUtils.setField(jwtUtils, "tokenVersionService", tokenVersionService);
+            ReflectionTestUtils.setField(jwtUtils, "authMetrics", new AuthMetrics(new SimpleMeterRegistry()));
+            ReflectionTestUtils.setField(jwtUtils, "securityEvents", new SecurityEventLogger());
+            ReflectionTestUtils.setField(jwtUtils, "revokedTokenStore", revokedTokenStore);
+            jwtUtils.init();
+
+            UserDetailsServiceImpl userDetailsService = mock(UserDetailsServiceImpl.class);
+            when(userDetailsService.loadUserByUsername("farmer")).thenReturn(FARMER);
+
+            ReflectionTestUtils.setField(service, "jwtUtils", jwtUtils);
+            ReflectionTestUtils.setField(service, "revokedTokenStore", revokedTokenStore);
+            ReflectionTestUtils.setField(service, "tokenVersionService", tokenVersionService);
+            ReflectionTestUtils.setField(service, "userDetailsService", userDetailsService);
+        }
+    }
+}
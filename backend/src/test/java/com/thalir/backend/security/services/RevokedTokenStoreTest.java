@@ -0,0 +1,150 @@
+package com.thalir.backend.security.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.thalir.backend.model.RevokedToken;
+import com.thalir.backend.repository.RevokedTokenRepository;
+
+class RevokedTokenStoreTest {
+    private final List<RevokedToken> rows = new ArrayList<>();
+
+    private RevokedTokenRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RevokedTokenRepository.class);
+        when(repository.save(any())).thenAnswer(invocation -> {
+            RevokedToken row = invocation.getArgument(0);
+            if (rows.stream().anyMatch(existing -> existing.getJti().equals(row.getJti()))) {
+                throw new DataIntegrityViolationException("uk_revoked_tokens_jti");
+            }
+            row.setId((long) rows.size() + 1);
+            rows.add(row);
+            return row;
+        });
+        when(repository.findByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(anyLong(), any()))
+                .thenAnswer(invocation -> {
+                    long from = invocation.getArgument(0);
+                    Instant now = invocation.getArgument(1);
+                    return rows.stream().filter(row -> row.getId() > from && row.getExpiresAt().isAfter(now))
+                            .toList();
+                });
+    }
+
+    @Test
+    void revokedTokensAreFoundByIdAndExpiry() {
+        RevokedTokenStore store = store();
+        Instant expiresAt = Instant.now().plus(Duration.ofMinutes(15));
+
+        assertThat(store.revoke("a", expiresAt)).isTrue();
+
+        assertThat(store.isRevoked("a", Date.from(expiresAt))).isTrue();
+        assertThat(store.isRevoked("b", Date.from(expiresAt))).isFalse();
+        assertThat(store.isRevoked(null, Date.from(expiresAt))).isFalse();
+    }
+
+    @Test
+    void revokingTwiceReportsReuseAcrossInstances() {
+        RevokedTokenStore first = store();
+        RevokedTokenStore second = store();
+        Instant expiresAt = Instant.now().plus(Duration.ofDays(7));
+
+        assertThat(first.revoke("refresh", expiresAt)).isTrue();
+        assertThat(second.isRevoked("refresh", Date.from(expiresAt))).isFalse();
+
+        assertThat(second.revoke("refresh", expiresAt)).isFalse();
+        assertThat(second.isRevoked("refresh", Date.from(expiresAt))).isTrue();
+    }
+
+    @Test
+    void expiredTokensAreNotRecorded() {
+        RevokedTokenStore store = store();
+
+        assertThat(store.revoke("old", Instant.now().minusSeconds(1))).isTrue();
+
+        verify(repository, never()).save(any());
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void syncPicksUpRowsCommittedBelowTheHighestSeenId() {
+        RevokedTokenStore store = store();
+        Instant expiresAt = Instant.now().plus(Duration.ofMinutes(15));
+        rows.add(token(1, "first", expiresAt));
+        rows.add(token(3, "third", expiresAt));
+        store.sync();
+
+        // Id 2 was allocated before id 3 but committed after the last sync
+        rows.add(token(2, "second", expiresAt));
+        store.sync();
+
+        assertThat(store.isRevoked("first", Date.from(expiresAt))).isTrue();
+        assertThat(store.isRevoked("second", Date.from(expiresAt))).isTrue();
+        assertThat(store.isRevoked("third", Date.from(expiresAt))).isTrue();
+        assertThat(store.size()).isEqualTo(3);
+    }
+
+    @Test
+    void keepsEveryTokenAsTablesGrow() {
+        RevokedTokenStore store = store();
+        Instant expiresAt = Instant.now().plus(Duration.ofMinutes(15));
+        for (int i = 0; i < 1000; i++) {
+            store.revoke("token-" + i, expiresAt);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(store.isRevoked("token-" + i, Date.from(expiresAt))).isTrue();
+        }
+        assertThat(store.isRevoked("token-1000", Date.from(expiresAt))).isFalse();
+        assertThat(store.size()).isEqualTo(1000);
+    }
+
+    @Test
+    void pruneDropsBucketsThatHaveExpired() {
+        RevokedTokenStore store = store();
+        Instant live = Instant.now().plus(Duration.ofHours(3));
+        store.revoke("live", live);
+        // Loaded while still valid; its whole bucket has expired since
+        ReflectionTestUtils.invokeMethod(store, "add", "expired",
+                Instant.now().minus(Duration.ofHours(2)).toEpochMilli());
+        assertThat(store.size()).isEqualTo(2);
+
+        store.prune();
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.isRevoked("live", Date.from(live))).isTrue();
+        verify(repository).deleteExpired(any());
+    }
+
+    private RevokedTokenStore store() {
+        RevokedTokenStore store = new RevokedTokenStore();
+        ReflectionTestUtils.setField(store, "revokedTokenRepository", repository);
+        ReflectionTestUtils.setField(store, "bucketMinutes", 60L);
+        ReflectionTestUtils.setField(store, "syncOverlapRows", 1000L);
+        store.load();
+        return store;
+    }
+
+    private static RevokedToken token(long id, String jti, Instant expiresAt) {
+        RevokedToken token = new RevokedToken(jti, expiresAt);
+        token.setId(id);
+        return token;
+    }
+}
@@ -0,0 +1,62 @@
+package com.thalir.backend.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+class KeysetCursorTest {
+
+    @Test
+    void newestCursorRoundTrips() {
+        String cursor = KeysetCursor.encode(ProductService.SORT_NEWEST, Long.MAX_VALUE - 1);
+
+        assertThat(KeysetCursor.decode(cursor, ProductService.SORT_NEWEST, 1))
+                .containsExactly(String.valueOf(Long.MAX_VALUE - 1));
+    }
+
+    @Test
+    void priceCursorKeepsExactPriceAndId() {
+        BigDecimal price = new BigDecimal("1E+3").add(new BigDecimal("0.50"));
+        String cursor = KeysetCursor.encode(ProductService.SORT_PRICE, price.toPlainString(), 9007199254740993L);
+
+        String[] parts = KeysetCursor.decode(cursor, ProductService.SORT_PRICE, 2);
+
+        assertThat(new BigDecimal(parts[0])).isEqualTo(new BigDecimal("1000.50"));
+        assertThat(Long.parseLong(parts[1])).isEqualTo(9007199254740993L);
+    }
+
+    @Test
+    void cursorIsUrlSafe() {
+        for (long id = 0; id < 1000; id++) {
+            assertThat(KeysetCursor.encode(ProductService.SORT_PRICE, "99999999.99", id)).matches("[A-Za-z0-9_-]+");
+        }
+    }
+
+    @Test
+    void cursorForAnotherSortIsRejected() {
+        String cursor = KeysetCursor.encode(ProductService.SORT_NEWEST, 42L);
+
+        assertThatThrownBy(() -> KeysetCursor.decode(cursor, ProductService.SORT_PRICE, 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        String wrongFields = KeysetCursor.encode(ProductService.SORT_PRICE, "10.00");
+        String extraFields = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("price:10.00:1:2".getBytes(StandardCharsets.UTF_8));
+
+        for (String cursor : new String[] { wrongFields, extraFields, "not base64!", "" }) {
+            assertThatThrownBy(() -> KeysetCursor.decode(cursor, ProductService.SORT_PRICE, 2))
+                    .as(cursor)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.thalir.backend.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.thalir.backend.payload.request.OrderRequest;
+import com.thalir.backend.payload.response.OrderResponse;
+import com.thalir.backend.repository.ProductRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Runs the writer against the Flyway schema on H2 in MySQL mode. The writer commits
+ * on its own thread, so tests run outside a test transaction and use fresh products.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:orderwriter;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "order.writer.max-wait-ms=200"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ OrderWriter.class, OrderWriterTest.Metrics.class })
+class OrderWriterTest {
+    @Autowired
+    OrderWriter orderWriter;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    private Long customerId;
+
+    @BeforeEach
+    void setUp() {
+        customerId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = 'consumer'", Long.class);
+    }
+
+    @AfterEach
+    void restoreRepository() {
+        ReflectionTestUtils.setField(orderWriter, "productRepository", productRepository);
+    }
+
+    @Test
+    void replayedKeyReturnsTheExistingOrder() throws Exception {
+        long product = product(10);
+
+        OrderResponse placed = orderWriter.submit(customerId, "replay", order(product, 3)).get(5, TimeUnit.SECONDS);
+        OrderResponse replayed = orderWriter.submit(customerId, "replay", order(product, 3)).get(5, TimeUnit.SECONDS);
+
+        assertThat(replayed.getId()).isEqualTo(placed.getId());
+        assertThat(quantity(product)).isEqualTo(7);
+        assertThat(orderCount("replay")).isEqualTo(1);
+    }
+
+    @Test
+    void repeatedKeyWithinOneBatchPlacesOneOrder() throws Exception {
+        long product = product(10);
+
+        CompletableFuture<OrderResponse> first = orderWriter.submit(customerId, "twice", order(product, 2));
+        CompletableFuture<OrderResponse> second = orderWriter.submit(customerId, "twice", order(product, 2));
+
+        assertThat(second.get(5, TimeUnit.SECONDS).getId()).isEqualTo(first.get(5, TimeUnit.SECONDS).getId());
+        assertThat(quantity(product)).isEqualTo(8);
+        assertThat(orderCount("twice")).isEqualTo(1);
+    }
+
+    @Test
+    void burstOnOneProductIsWrittenAsOneBatch() throws Exception {
+        long product = product(5);
+        long batchesBefore = meterRegistry.get("orders.writer.batch.size").summary().count();
+
+        List<CompletableFuture<OrderResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(orderWriter.submit(customerId, UUID.randomUUID().toString(), order(product, 1)));
+        }
+
+        int placed = 0;
+        for (CompletableFuture<OrderResponse> future : futures) {
+            try {
+                future.get(5, TimeUnit.SECONDS);
+                placed++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(OrderRejectedException.class)
+                        .hasMessageContaining("Insufficient stock");
+            }
+        }
+        assertThat(placed).isEqualTo(5);
+        assertThat(quantity(product)).isZero();
+        assertThat(meterRegistry.get("orders.writer.batch.size").summary().count() - batchesBefore).isEqualTo(1);
+    }
+
+    @Test
+    void stockChangedElsewhereReplansTheBatch() throws Exception {
+        long product = product(10);
+        double retriesBefore = meterRegistry.get("orders.writer.retries").functionCounter().count();
+
+        // Another instance sells 7 units between the stock snapshot and the decrement
+        AtomicBoolean sold = new AtomicBoolean();
+        ProductRepository racing = mock(ProductRepository.class, AdditionalAnswers.delegatesTo(productRepository));
+        doAnswer(invocation -> {
+            if (sold.compareAndSet(false, true)) {
+                try (Connection connection = dataSource.getConnection();
+                        PreparedStatement update = connection.prepareStatement(
+                                "UPDATE products SET quantity = quantity - 7 WHERE id = ?")) {
+                    update.setLong(1, product);
+                    update.executeUpdate();
+                }
+            }
+            return productRepository.decrementStock(invocation.getArgument(0), invocation.getArgument(1));
+        }).when(racing).decrementStock(anyLong(), anyInt());
+        ReflectionTestUtils.setField(orderWriter, "productRepository", racing);
+
+        CompletableFuture<OrderResponse> future = orderWriter.submit(customerId, "race", order(product, 5));
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(OrderRejectedException.class)
+                .hasMessageContaining("Insufficient stock");
+        assertThat(quantity(product)).isEqualTo(3);
+        assertThat(orderCount("race")).isZero();
+        assertThat(meterRegistry.get("orders.writer.retries").functionCounter().count() - retriesBefore)
+                .isEqualTo(1);
+    }
+
+    @Test
+    void productDisabledElsewhereIsNotSold() throws Exception {
+        long product = product(10);
+
+        // The provider disables the product between the stock snapshot and the decrement
+        ProductRepository racing = mock(ProductRepository.class, AdditionalAnswers.delegatesTo(productRepository));
+        doAnswer(invocation -> {
+            try (Connection connection = dataSource.getConnection();
+                    PreparedStatement update = connection.prepareStatement(
+                            "UPDATE products SET enabled = FALSE WHERE id = ?")) {
+                update.setLong(1, product);
+                update.executeUpdate();
+            }
+            return productRepository.decrementStock(invocation.getArgument(0), invocation.getArgument(1));
+        }).when(racing).decrementStock(anyLong(), anyInt());
+        ReflectionTestUtils.setField(orderWriter, "productRepository", racing);
+
+        CompletableFuture<OrderResponse> future = orderWriter.submit(customerId, "disabled", order(product, 2));
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(OrderRejectedException.class)
+                .hasMessageContaining("is not available");
+        assertThat(quantity(product)).isEqualTo(10);
+        assertThat(orderCount("disabled")).isZero();
+    }
+
+    private long product(int quantity) {
+        String sku = UUID.randomUUID().toString().substring(0, 8);
+        jdbcTemplate.update("INSERT INTO products (provider_id, name, sku, category, price, quantity, minimum_stock, "
+                + "enabled, version, created_at, updated_at) SELECT id, 'Paddy seed', ?, 'SEEDS', 250.00, ?, 0, "
+                + "TRUE, 0, NOW(), NOW() FROM users WHERE username = 'farmer'", sku, quantity);
+        return jdbcTemplate.queryForObject("SELECT id FROM products WHERE sku = ?", Long.class, sku);
+    }
+
+    private int quantity(long product) {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM products WHERE id = ?", Integer.class, product);
+    }
+
+    private int orderCount(String idempotencyKey) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE customer_id = ? AND idempotency_key = ?",
+                Integer.class, customerId, idempotencyKey);
+    }
+
+    private static OrderRequest order(long product, int quantity) {
+        OrderRequest.Item item = new OrderRequest.Item();
+        item.setProductId(product);
+        item.setQuantity(quantity);
+        OrderRequest request = new OrderRequest();
+        request.setItems(List.of(item));
+        return request;
+    }
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
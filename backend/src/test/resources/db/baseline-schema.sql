@@ -0,0 +1,17 @@
+-- The schema hibernate ddl-auto created on MySQL for the entities of the commit before
+-- Flyway (User, Role, user_roles), as exported by Hibernate 6.4's MySQLDialect, plus
+-- rows like the ones the old DataInitializer seeded.
+
+create table roles (id integer not null auto_increment, name enum ('ROLE_FARMER','ROLE_CONSUMER','ROLE_PROVIDER','ROLE_ADMIN'), primary key (id)) engine=InnoDB;
+create table user_roles (role_id integer not null, user_id bigint not null, primary key (role_id, user_id)) engine=InnoDB;
+create table users (id bigint not null auto_increment, username varchar(20), email varchar(50), password varchar(120), primary key (id)) engine=InnoDB;
+alter table roles add constraint UK_ofx66keruapi6vyqpv6f2or37 unique (name);
+alter table users add constraint UKr43af9ap4edm43mmtq01oddj6 unique (username);
+alter table users add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+alter table user_roles add constraint FKh8ciramu9cc9q3qcqiv4ue8a6 foreign key (role_id) references roles (id);
+alter table user_roles add constraint FKhfh9dx7w3ubf1co1vdev94g3f foreign key (user_id) references users (id);
+
+INSERT INTO roles (name) VALUES ('ROLE_FARMER'), ('ROLE_CONSUMER'), ('ROLE_PROVIDER'), ('ROLE_ADMIN');
+INSERT INTO users (username, email, password) VALUES ('farmer', 'farmer@thalir.com', 'existing-hash');
+INSERT INTO user_roles (user_id, role_id) SELECT u.id, r.id FROM users u, roles r
+    WHERE u.username = 'farmer' AND r.name = 'ROLE_FARMER';
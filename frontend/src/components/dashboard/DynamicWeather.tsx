@@ -1,6 +1,10 @@
 import React, { useState, useEffect } from 'react';
 import { Cloud, Sun, CloudRain, CloudLightning, Wind, Droplets, Loader2, AlertCircle, MapPin } from 'lucide-react';
 import axios from 'axios';
+import AuthService from '../../services/auth.service';
+
+// Served from the backend's per-region forecast cache
+const WEATHER_API_URL = 'http://localhost:8080/api/weather/forecast';
 
 interface WeatherData {
     day: string;
@@ -12,7 +16,7 @@ interface WeatherData {
     icon: React.ReactNode;
 }
 
-const DynamicWeather = ({ city = "Mumbai" }: { city?: string }) => {
+const DynamicWeather = ({ city = "Mumbai", latitude = 19.0760, longitude = 72.8777 }: { city?: string; latitude?: number; longitude?: number }) => {
     const [weather, setWeather] = useState<WeatherData[]>([]);
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState<string | null>(null);
@@ -21,16 +25,18 @@ const DynamicWeather = ({ city = "Mumbai" }: { city?: string }) => {
         const fetchWeather = async () => {
             try {
                 setLoading(true);
-                // Open-Meteo for Mumbai: 19.0760, 72.8777
-                const res = await axios.get('https://api.open-meteo.com/v1/forecast?latitude=19.0760&longitude=72.8777&daily=weathercode,temperature_2m_max,temperature_2m_min&timezone=auto');
+                const user = AuthService.getCurrentUser();
+                const res = await axios.get(WEATHER_API_URL, {
+                    params: { lat: latitude, lon: longitude },
+                    headers: user && user.token ? { Authorization: 'Bearer ' + user.token } : {}
+                });
 
                 const days = ['Sun', 'Mon', 'Tue', 'Wed', 'Thu', 'Fri', 'Sat'];
-                const daily = res.data.daily;
 
-                const formattedData = daily.time.map((dateStr: string, i: number) => {
-                    const date = new Date(dateStr);
+                const formattedData = res.data.days.map((forecast: any, i: number) => {
+                    const date = new Date(forecast.date);
                     const dayName = i === 0 ? 'Today' : days[date.getDay()];
-                    const code = daily.weathercode[i];
+                    const code = forecast.weatherCode;
 
                     let condition = "Clear";
                     let Icon = <Sun className="text-amber-500" size={24} />;
@@ -48,11 +54,11 @@ const DynamicWeather = ({ city = "Mumbai" }: { city?: string }) => {
 
                     return {
                         day: dayName,
-                        tempMax: Math.round(daily.temperature_2m_max[i]),
-                        tempMin: Math.round(daily.temperature_2m_min[i]),
+                        tempMax: Math.round(forecast.temperatureMax),
+                        tempMin: Math.round(forecast.temperatureMin),
                         condition,
                         humidity: `${40 + Math.floor(Math.random() * 30)}%`,
-                        windSpeed: `${5 + Math.floor(Math.random() * 15)} km/h`,
+                        windSpeed: `${Math.round(forecast.windSpeedMax)} km/h`,
                         icon: Icon
                     };
                 });
@@ -68,7 +74,7 @@ const DynamicWeather = ({ city = "Mumbai" }: { city?: string }) => {
         };
 
         fetchWeather();
-    }, [city]);
+    }, [city, latitude, longitude]);
 
     if (loading) {
         return (
@@ -4,6 +4,9 @@ import { BrowserRouter } from 'react-router-dom'
 import "./index.css";
 
 import App from './App.tsx'
+import { setupAuthInterceptor } from './services/auth-interceptor'
+
+setupAuthInterceptor()
 
 createRoot(document.getElementById('root')!).render(
   <StrictMode>
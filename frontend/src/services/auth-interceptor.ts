@@ -0,0 +1,45 @@
+import axios, { AxiosError, InternalAxiosRequestConfig } from "axios";
+import AuthService from "./auth.service";
+
+const AUTH_URL = "http://localhost:8080/api/auth/";
+
+type RetriableRequest = InternalAxiosRequestConfig & { _retried?: boolean };
+
+// One refresh at a time: concurrent 401s wait for the same rotated token
+let refreshing: Promise<{ token: string }> | null = null;
+
+function refreshOnce() {
+    if (!refreshing) {
+        refreshing = AuthService.refresh().finally(() => {
+            refreshing = null;
+        });
+    }
+    return refreshing;
+}
+
+// Access tokens are short-lived: on a 401 from the backend, renew them with the
+// refresh token and retry the request once. If renewal fails the stored user is
+// cleared and the app returns to the sign-in page.
+export function setupAuthInterceptor() {
+    axios.interceptors.response.use(
+        response => response,
+        async (error: AxiosError) => {
+            const request = error.config as RetriableRequest | undefined;
+            const user = AuthService.getCurrentUser();
+            if (!request || error.response?.status !== 401 || request._retried
+                || !user || !user.refreshToken || (request.url || "").startsWith(AUTH_URL)) {
+                return Promise.reject(error);
+            }
+
+            request._retried = true;
+            try {
+                const updated = await refreshOnce();
+                request.headers.set("Authorization", "Bearer " + updated.token);
+                return axios(request);
+            } catch {
+                window.location.assign("/login");
+                return Promise.reject(error);
+            }
+        }
+    );
+}
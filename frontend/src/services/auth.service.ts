@@ -19,7 +19,34 @@ class AuthService {
     }
 
     logout() {
+        const user = this.getCurrentUser();
         localStorage.removeItem("user");
+        if (user && user.refreshToken) {
+            return axios
+                .post(API_URL + "signout", { refreshToken: user.refreshToken }, {
+                    headers: { Authorization: "Bearer " + user.token }
+                })
+                .catch(() => undefined);
+        }
+        return Promise.resolve();
+    }
+
+    refresh() {
+        const user = this.getCurrentUser();
+        if (!user || !user.refreshToken) {
+            return Promise.reject(new Error("Not signed in"));
+        }
+        return axios
+            .post(API_URL + "refresh", { refreshToken: user.refreshToken })
+            .then(response => {
+                const updated = { ...user, token: response.data.token, refreshToken: response.data.refreshToken };
+                localStorage.setItem("user", JSON.stringify(updated));
+                return updated;
+            })
+            .catch(error => {
+                localStorage.removeItem("user");
+                throw error;
+            });
     }
 
     register(username: string, email: string, password: string, role: string[]) {
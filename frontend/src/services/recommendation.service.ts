@@ -37,8 +37,10 @@
 
 // export default new RecommendationService();
 import axios from "axios";
+import AuthService from "./auth.service";
 
-const ML_API_URL = "http://localhost:8000";
+// Served by the backend, which caches predictions from the ML service
+const API_URL = "http://localhost:8080/api/recommendations";
 
 export interface RecommendationRequest {
   soil_type: string;
@@ -65,14 +67,16 @@ export interface RecommendationResponse {
   location: string;
   weather_summary: WeatherSummary;
   recommendations: Recommendation[];
+  // True when served from the backend cache because the ML service is unavailable
+  stale?: boolean;
 }
 
 class RecommendationService {
   getRecommendations(data: RecommendationRequest) {
-    return axios.post<RecommendationResponse>(
-      `${ML_API_URL}/recommend`,
-      data
-    );
+    const user = AuthService.getCurrentUser();
+    return axios.post<RecommendationResponse>(API_URL, data, {
+      headers: user && user.token ? { Authorization: "Bearer " + user.token } : {}
+    });
   }
 }
 
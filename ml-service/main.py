@@ -51,7 +51,8 @@
 #     )
 from fastapi import FastAPI, HTTPException
 from fastapi.middleware.cors import CORSMiddleware
-from ml.utils import RecommendationRequest, RecommendationResponse, ModelInfoResponse, logger
+from ml.utils import (RecommendationRequest, RecommendationResponse, ModelInfoResponse, logger,
+                      BatchRecommendationRequest, BatchRecommendationResponse, BatchRecommendationItem)
 from ml.predictor import predictor
 from ml.model_loader import model_loader
 
@@ -115,6 +116,34 @@ async def get_crop_recommendation(request: RecommendationRequest):
         logger.error(f"Recommendation error: {str(e)}")
         raise HTTPException(status_code=500, detail=str(e))
 
+# =========================
+# BATCH RECOMMEND
+# One model call for many requests; used by the backend's micro-batching dispatcher
+# =========================
+@app.post("/recommend/batch", response_model=BatchRecommendationResponse)
+async def get_crop_recommendations(request: BatchRecommendationRequest):
+    if not model_loader.model:
+        raise HTTPException(
+            status_code=503,
+            detail="Model is not ready. Please wait."
+        )
+
+    for item in request.requests:
+        if item.location:
+            item.location = item.location.split(",")[0].strip()
+
+    try:
+        results = await predictor.get_recommendations(request.requests)
+    except Exception as e:
+        logger.error(f"Batch recommendation error: {str(e)}")
+        raise HTTPException(status_code=500, detail=str(e))
+
+    return BatchRecommendationResponse(results=[
+        BatchRecommendationItem(error=str(r)) if isinstance(r, Exception)
+        else BatchRecommendationItem(recommendation=r)
+        for r in results
+    ])
+
 # =========================
 # MODEL INFO
 # =========================
@@ -1,3 +1,4 @@
+import asyncio
 import pandas as pd
 import numpy as np
 from typing import List, Dict, Any
@@ -33,77 +34,104 @@ class Predictor:
         return total_yield, total_cost, profit, risk
 
     async def get_recommendation(self, request: RecommendationRequest) -> RecommendationResponse:
-        weather = await weather_service.fetch_weather(request.location)
-        
-        if not weather:
-            # Fallback for demonstration if API fails
-            weather = {"avg_temp": 28.0, "humidity": 70.0, "rainfall_forecast": 100.0}
+        result = (await self.get_recommendations([request]))[0]
+        if isinstance(result, Exception):
+            raise result
+        return result
 
+    async def get_recommendations(self, requests: List[RecommendationRequest]) -> List[Any]:
+        """
+        Predicts for several requests with a single model call.
+        Returns one RecommendationResponse per request, or the Exception that request failed with.
+        """
         if not model_loader.model:
             raise Exception("Model not loaded. Ensure training is complete.")
 
-        # Prepare input features
+        # One weather lookup per distinct location, fetched concurrently
+        locations = list(dict.fromkeys(r.location for r in requests))
+        fetched = await asyncio.gather(*(weather_service.fetch_weather(l) for l in locations))
+        weather_by_location = dict(zip(locations, fetched))
+
+        results: List[Any] = [None] * len(requests)
+        rows, prepared = [], []
+        for i, request in enumerate(requests):
+            # Fallback for demonstration if API fails
+            weather = weather_by_location[request.location] or \
+                {"avg_temp": 28.0, "humidity": 70.0, "rainfall_forecast": 100.0}
+            try:
+                rows.append(self._features(request, weather))
+                prepared.append((i, request, weather))
+            except Exception as e:
+                logger.error(f"Prediction error: {str(e)}")
+                results[i] = e
+
+        if rows:
+            # Scale and predict all rows at once
+            input_scaled = model_loader.scaler.transform(pd.DataFrame(rows))
+            all_probs = model_loader.model.predict_proba(input_scaled)
+            for (i, request, weather), probs in zip(prepared, all_probs):
+                try:
+                    results[i] = self._build_response(request, weather, probs)
+                except Exception as e:
+                    logger.error(f"Prediction error: {str(e)}")
+                    results[i] = e
+
+        return results
+
+    def _features(self, request: RecommendationRequest, weather: Dict[str, Any]) -> Dict[str, Any]:
         # Features: ['soil_encoded', 'temperature', 'humidity', 'rainfall', 'state_encoded', 'rain_encoded']
-        try:
-            parts = [p.strip() for p in request.location.split(",")]
-            state = parts[1] if len(parts) > 1 else "Tamil Nadu"
-            
-            # Categories matching training logic
-            rain_val = weather['rainfall_forecast']
-            if rain_val <= 80: rain_cat = "Low"
-            elif rain_val <= 150: rain_cat = "Medium"
-            else: rain_cat = "High"
-
-            # Encoding
-            soil_enc = model_loader.encoders['le_soil'].transform([request.soil_type])[0]
-            state_enc = model_loader.encoders['le_state'].transform([state])[0]
-            rain_enc = model_loader.encoders['le_rain'].transform([rain_cat])[0]
-
-            input_data = pd.DataFrame([{
-                'soil_encoded': soil_enc,
-                'temperature': weather['avg_temp'],
-                'humidity': weather['humidity'],
-                'rainfall': weather['rainfall_forecast'],
-                'state_encoded': state_enc,
-                'rain_encoded': rain_enc
-            }])
-
-            # Scale
-            input_scaled = model_loader.scaler.transform(input_data)
-
-            # Predict (Top 3 crops)
-            probs = model_loader.model.predict_proba(input_scaled)[0]
-            top_indices = np.argsort(probs)[::-1][:3]
-            top_crops = model_loader.encoders['le_crop'].inverse_transform(top_indices)
-            top_probs = probs[top_indices]
-
-            recommendations = []
-            for crop, prob in zip(top_crops, top_probs):
-                y_tons, cost, profit, risk = self._calculate_profit(crop, request.land_area)
-                
-                recommendations.append(Recommendation(
-                    crop=crop,
-                    success_rate=round(float(prob), 2),
-                    expected_yield_tons=round(y_tons, 2),
-                    estimated_cost=round(cost, 2),
-                    predicted_profit=round(profit, 2),
-                    risk=risk
-                ))
-
-            weather_summary = WeatherSummary(
-                avg_temp=weather['avg_temp'],
-                humidity=weather['humidity'],
-                rainfall_forecast=weather['rainfall_forecast']
-            )
-
-            return RecommendationResponse(
-                location=request.location,
-                weather_summary=weather_summary,
-                recommendations=recommendations
-            )
-
-        except Exception as e:
-            logger.error(f"Prediction error: {str(e)}")
-            raise e
+        parts = [p.strip() for p in request.location.split(",")]
+        state = parts[1] if len(parts) > 1 else "Tamil Nadu"
+
+        # Categories matching training logic
+        rain_val = weather['rainfall_forecast']
+        if rain_val <= 80: rain_cat = "Low"
+        elif rain_val <= 150: rain_cat = "Medium"
+        else: rain_cat = "High"
+
+        # Encoding
+        soil_enc = model_loader.encoders['le_soil'].transform([request.soil_type])[0]
+        state_enc = model_loader.encoders['le_state'].transform([state])[0]
+        rain_enc = model_loader.encoders['le_rain'].transform([rain_cat])[0]
+
+        return {
+            'soil_encoded': soil_enc,
+            'temperature': weather['avg_temp'],
+            'humidity': weather['humidity'],
+            'rainfall': weather['rainfall_forecast'],
+            'state_encoded': state_enc,
+            'rain_encoded': rain_enc
+        }
+
+    def _build_response(self, request: RecommendationRequest, weather: Dict[str, Any], probs) -> RecommendationResponse:
+        # Top 3 crops
+        top_indices = np.argsort(probs)[::-1][:3]
+        top_crops = model_loader.encoders['le_crop'].inverse_transform(top_indices)
+        top_probs = probs[top_indices]
+
+        recommendations = []
+        for crop, prob in zip(top_crops, top_probs):
+            y_tons, cost, profit, risk = self._calculate_profit(crop, request.land_area)
+
+            recommendations.append(Recommendation(
+                crop=crop,
+                success_rate=round(float(prob), 2),
+                expected_yield_tons=round(y_tons, 2),
+                estimated_cost=round(cost, 2),
+                predicted_profit=round(profit, 2),
+                risk=risk
+            ))
+
+        weather_summary = WeatherSummary(
+            avg_temp=weather['avg_temp'],
+            humidity=weather['humidity'],
+            rainfall_forecast=weather['rainfall_forecast']
+        )
+
+        return RecommendationResponse(
+            location=request.location,
+            weather_summary=weather_summary,
+            recommendations=recommendations
+        )
 
 predictor = Predictor()
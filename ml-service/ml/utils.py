@@ -32,6 +32,16 @@ class RecommendationResponse(BaseModel):
     weather_summary: WeatherSummary
     recommendations: List[Recommendation]
 
+class BatchRecommendationRequest(BaseModel):
+    requests: List[RecommendationRequest]
+
+class BatchRecommendationItem(BaseModel):
+    recommendation: Optional[RecommendationResponse] = None
+    error: Optional[str] = None
+
+class BatchRecommendationResponse(BaseModel):
+    results: List[BatchRecommendationItem]
+
 class ModelInfoResponse(BaseModel):
     model_accuracy: float
     training_date: str